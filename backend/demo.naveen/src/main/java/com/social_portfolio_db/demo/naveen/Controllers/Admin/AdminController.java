@@ -6,11 +6,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -23,6 +27,19 @@ import com.social_portfolio_db.demo.naveen.Entity.Post;
 import com.social_portfolio_db.demo.naveen.Entity.Projects;
 import com.social_portfolio_db.demo.naveen.Dtos.UserProfileDTO;
 import com.social_portfolio_db.demo.naveen.Mappers.UserProfileMapper;
+import com.social_portfolio_db.demo.naveen.ServicesImp.ExportService;
+import com.social_portfolio_db.demo.naveen.ServicesImp.FeedPageCache;
+import com.social_portfolio_db.demo.naveen.ServicesImp.FollowCountRepair;
+import com.social_portfolio_db.demo.naveen.ServicesImp.FollowerLeaderboard;
+import com.social_portfolio_db.demo.naveen.ServicesImp.FriendSuggestionService;
+import com.social_portfolio_db.demo.naveen.ServicesImp.LikeCounters;
+import com.social_portfolio_db.demo.naveen.ServicesImp.NotificationQueue;
+import com.social_portfolio_db.demo.naveen.ServicesImp.LikeFilter;
+import com.social_portfolio_db.demo.naveen.ServicesImp.HotFeedCache;
+import com.social_portfolio_db.demo.naveen.ServicesImp.PostFeedService;
+import com.social_portfolio_db.demo.naveen.ServicesImp.PostSearchIndex;
+import com.social_portfolio_db.demo.naveen.ServicesImp.SocialGraph;
+import com.social_portfolio_db.demo.naveen.ServicesImp.UserSearchIndex;
 
 @RestController
 // @CrossOrigin(origins = "http://localhost:5173")
@@ -35,6 +52,19 @@ public class AdminController {
     private final ProjectsRepository projectRepo;
 
     private final PostRepository postRepo;
+    private final PostFeedService postFeedService;
+    private final HotFeedCache hotFeedCache;
+    private final FeedPageCache feedPageCache;
+    private final PostSearchIndex postSearchIndex;
+    private final ExportService exportService;
+    private final UserSearchIndex userSearchIndex;
+    private final FollowCountRepair followCountRepair;
+    private final FollowerLeaderboard followerLeaderboard;
+    private final SocialGraph socialGraph;
+    private final FriendSuggestionService friendSuggestionService;
+    private final LikeFilter likeFilter;
+    private final LikeCounters likeCounters;
+    private final NotificationQueue notificationQueue;
 
     @GetMapping("/users")
     public ResponseEntity<List<Map<String, Object>>> getAllUsers() {
@@ -57,6 +87,10 @@ public class AdminController {
     @DeleteMapping("/users/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         userRepo.deleteById(id);
+        postFeedService.onAuthorChanged(id);
+        userSearchIndex.onUserDeleted(id);
+        followerLeaderboard.remove(id);
+        socialGraph.onUserDeleted(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -84,6 +118,7 @@ public class AdminController {
     public ResponseEntity<?> deleteAnyPost(@PathVariable Long postId) {
         Post post = postRepo.findById(postId).orElseThrow();
         postRepo.delete(post);
+        postFeedService.onPostDeleted(postId);
         return ResponseEntity.ok("Post deleted by admin");
     }
 
@@ -92,6 +127,7 @@ public class AdminController {
         Users user = userRepo.findById(id).orElseThrow();
         user.setProfilePicUrl(null);
         userRepo.save(user);
+        postFeedService.onAuthorChanged(id);
         return ResponseEntity.ok("Profile picture removed for user: " + user.getUsername());
     }
     
@@ -99,7 +135,68 @@ public class AdminController {
     @GetMapping("/users/{id}/profile")
     public ResponseEntity<UserProfileDTO> getUserProfileById(@PathVariable Long id) {
         Users user = userRepo.findById(id).orElseThrow();
-        UserProfileDTO dto = UserProfileMapper.toDto(user, userRepo);
+        UserProfileDTO dto = UserProfileMapper.toDto(user, likeCounters::projectLikes);
         return ResponseEntity.ok(dto);
     }
+
+    // Runs the follower/following counter repair now instead of waiting for the schedule
+    @PostMapping("/users/follow-counts/repair")
+    public ResponseEntity<Map<String, Object>> repairFollowCounts() {
+        return ResponseEntity.ok(Map.of("repaired", followCountRepair.repair()));
+    }
+
+    // Newline-delimited JSON, one post per line, streamed straight from the database
+    @GetMapping("/export/posts")
+    public void exportPosts(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        exportService.exportPosts(response.getOutputStream());
+    }
+
+    @GetMapping("/export/users")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        exportService.exportUsers(response.getOutputStream());
+    }
+
+    @GetMapping("/stats/feed-cache")
+    public ResponseEntity<Map<String, Object>> getFeedCacheStats() {
+        return ResponseEntity.ok(hotFeedCache.stats());
+    }
+
+    @GetMapping("/stats/feed-page-cache")
+    public ResponseEntity<Map<String, Object>> getFeedPageCacheStats() {
+        return ResponseEntity.ok(feedPageCache.stats());
+    }
+
+    @GetMapping("/stats/post-search")
+    public ResponseEntity<Map<String, Object>> getPostSearchStats() {
+        return ResponseEntity.ok(postSearchIndex.stats());
+    }
+
+    @GetMapping("/stats/social-graph")
+    public ResponseEntity<Map<String, Object>> getSocialGraphStats() {
+        return ResponseEntity.ok(socialGraph.stats());
+    }
+
+    @GetMapping("/stats/suggestions")
+    public ResponseEntity<Map<String, Object>> getSuggestionStats() {
+        return ResponseEntity.ok(friendSuggestionService.stats());
+    }
+
+    @GetMapping("/stats/like-filter")
+    public ResponseEntity<Map<String, Object>> getLikeFilterStats() {
+        return ResponseEntity.ok(likeFilter.stats());
+    }
+
+    @GetMapping("/stats/like-counters")
+    public ResponseEntity<Map<String, Object>> getLikeCounterStats() {
+        return ResponseEntity.ok(likeCounters.stats());
+    }
+
+    @GetMapping("/stats/notifications")
+    public ResponseEntity<Map<String, Object>> getNotificationQueueStats() {
+        return ResponseEntity.ok(notificationQueue.stats());
+    }
 }
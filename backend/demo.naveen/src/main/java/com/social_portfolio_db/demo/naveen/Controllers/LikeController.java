@@ -2,6 +2,10 @@ package com.social_portfolio_db.demo.naveen.Controllers;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import com.social_portfolio_db.demo.naveen.ServicesImp.LikeService;
 
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,6 +14,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -19,6 +26,9 @@ public class LikeController {
 
     private final LikeService likeService;
 
+    @Value("${likes.batch-max-ids:100}")
+    private int batchMaxIds;
+
     @PostMapping("/project/{projectId}")
     public ResponseEntity<?> likeProject(@PathVariable Long projectId, @RequestParam Long userId) {
         likeService.likeProject(userId, projectId);
@@ -88,10 +98,49 @@ public class LikeController {
         return ResponseEntity.ok(java.util.Map.of("liked", liked));
     }
 
+    // Like counts and the caller's like flags for a list of posts (?ids=1,2,3), in the given order
+    @GetMapping("/post/batch")
+    public ResponseEntity<?> getPostLikeSummaries(@RequestParam List<Long> ids,
+                                                  @AuthenticationPrincipal UserDetails userDetails) {
+        Set<Long> unique = distinctIds(ids);
+        if (unique.isEmpty()) {
+            // Nothing to look up, and an empty IN () is a syntax error in the summary query
+            return ResponseEntity.ok(List.of());
+        }
+        if (ids.size() > batchMaxIds) {
+            return ResponseEntity.badRequest().body("At most " + batchMaxIds + " ids per request");
+        }
+        return ResponseEntity.ok(likeService.getPostLikeSummaries(unique, currentUserId(userDetails)));
+    }
+
+    @GetMapping("/project/batch")
+    public ResponseEntity<?> getProjectLikeSummaries(@RequestParam List<Long> ids,
+                                                     @AuthenticationPrincipal UserDetails userDetails) {
+        Set<Long> unique = distinctIds(ids);
+        if (unique.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        if (ids.size() > batchMaxIds) {
+            return ResponseEntity.badRequest().body("At most " + batchMaxIds + " ids per request");
+        }
+        return ResponseEntity.ok(likeService.getProjectLikeSummaries(unique, currentUserId(userDetails)));
+    }
+
     @GetMapping("/post/{postId}/status")
     public ResponseEntity<?> getPostLikeStatus(@PathVariable Long postId, @RequestParam Long userId) {
         boolean liked = likeService.hasUserLikedPost(userId, postId);
         return ResponseEntity.ok(java.util.Map.of("liked", liked));
     }
+
+    // Distinct ids in request order; "?ids=" binds no ids and "?ids=1,,2" binds nulls
+    private static Set<Long> distinctIds(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        return unique;
+    }
+
+    private Long currentUserId(UserDetails userDetails) {
+        return likeService.getUserRepo().findByEmail(userDetails.getUsername()).orElseThrow().getId();
+    }
 }
 
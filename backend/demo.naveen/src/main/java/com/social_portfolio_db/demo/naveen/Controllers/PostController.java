@@ -1,10 +1,12 @@
 package com.social_portfolio_db.demo.naveen.Controllers;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.HashMap;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,14 +16,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.social_portfolio_db.demo.naveen.Dtos.PostRequest;
+import com.social_portfolio_db.demo.naveen.Dtos.PostView;
 import com.social_portfolio_db.demo.naveen.Entity.Post;
+import com.social_portfolio_db.demo.naveen.Entity.Skills;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
 import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
 import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+import com.social_portfolio_db.demo.naveen.ServicesImp.ContentVersions;
+import com.social_portfolio_db.demo.naveen.ServicesImp.FeedPageCache;
+import com.social_portfolio_db.demo.naveen.ServicesImp.PostFeedService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +45,8 @@ public class PostController {
 
     private final PostRepository postRepo;
     private final UserJpa userRepo;
+    private final PostFeedService postFeedService;
+    private final ContentVersions contentVersions;
 
     // Removed test endpoints and all debug logging
 
@@ -59,6 +71,7 @@ public class PostController {
             post.setUser(user);
             
             Post savedPost = postRepo.save(post);
+            postFeedService.onPostCreated(savedPost);
             log.info("Post created successfully with ID: {}", savedPost.getId());
             
             return ResponseEntity.ok("Post created successfully!");
@@ -82,46 +95,9 @@ public class PostController {
             log.info("Found user: {} (ID: {})", user.getUsername(), user.getId());
             
             // Fetch posts
-            List<Post> posts = postRepo.findByUserIdOrderByCreatedAtDesc(user.getId());
+            List<PostView> posts = postFeedService.getPostsByAuthor(user.getId());
             log.info("Found {} posts for user ID: {}", posts.size(), user.getId());
-            
-            // Create a safe response structure to avoid serialization issues
-            List<Map<String, Object>> safePosts = posts.stream()
-                .map(post -> {
-                    Map<String, Object> postMap = new HashMap<>();
-                    postMap.put("id", post.getId());
-                    postMap.put("content", post.getContent());
-                    postMap.put("createdAt", post.getCreatedAt());
-                    
-                    // Safely add user info
-                    if (post.getUser() != null) {
-                        Map<String, Object> userMap = new HashMap<>();
-                        userMap.put("id", post.getUser().getId());
-                        userMap.put("username", post.getUser().getUsername());
-                        userMap.put("email", post.getUser().getEmail());
-                        userMap.put("bio", post.getUser().getBio());
-                        userMap.put("location", post.getUser().getLocation());
-                        userMap.put("profilePicUrl", post.getUser().getProfilePicUrl());
-                        userMap.put("resumeUrl", post.getUser().getResumeUrl());
-                        userMap.put("createdAt", post.getUser().getCreatedAt());
-                        
-                        // Add skills as simple strings
-                        if (post.getUser().getSkills() != null) {
-                            List<String> skillNames = post.getUser().getSkills().stream()
-                                .map(skill -> skill.getSkillName())
-                                .collect(java.util.stream.Collectors.toList());
-                            userMap.put("skills", skillNames);
-                        }
-                        
-                        postMap.put("user", userMap);
-                    }
-                    
-                    return postMap;
-                })
-                .collect(java.util.stream.Collectors.toList());
-            
-            log.info("Successfully serialized {} posts for user: {}", posts.size(), user.getUsername());
-            return ResponseEntity.ok(safePosts);
+            return ResponseEntity.ok(posts);
             
         } catch (Exception e) {
             log.error("Error fetching posts for user {}: ", userDetails.getUsername(), e);
@@ -190,6 +166,7 @@ public class PostController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only delete your own posts");
         }
         postRepo.delete(post);
+        postFeedService.onPostDeleted(postId);
         return ResponseEntity.ok("Post deleted");
     }
 
@@ -219,72 +196,116 @@ public class PostController {
         }
     }
 
+    // Posts from the users the caller follows
+    @GetMapping("/timeline")
+    public ResponseEntity<?> getHomeTimeline(@AuthenticationPrincipal UserDetails userDetails,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("You must be logged in to view your timeline.");
+        }
+        try {
+            Users user = userRepo.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found: " + userDetails.getUsername()));
+            return ResponseEntity.ok(postFeedService.getHomeTimeline(user.getId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingPosts(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(postFeedService.getTrending(limit));
+    }
+
+    // Full-text search over post content, best match first
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(@RequestParam String q,
+                                         @RequestParam(required = false) Integer page,
+                                         @RequestParam(required = false) Integer size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body("Search query cannot be empty");
+        }
+        try {
+            return ResponseEntity.ok(postFeedService.searchPosts(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<?> getAllPosts() {
-        List<Post> posts = postRepo.findAllByOrderByCreatedAtDesc();
-        List<Map<String, Object>> safePosts = posts.stream()
-            .map(post -> {
-                Map<String, Object> postMap = new HashMap<>();
-                postMap.put("id", post.getId());
-                postMap.put("content", post.getContent());
-                postMap.put("createdAt", post.getCreatedAt());
-                if (post.getUser() != null) {
-                    Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("id", post.getUser().getId());
-                    userMap.put("username", post.getUser().getUsername());
-                    userMap.put("email", post.getUser().getEmail());
-                    userMap.put("bio", post.getUser().getBio());
-                    userMap.put("location", post.getUser().getLocation());
-                    userMap.put("profilePicUrl", post.getUser().getProfilePicUrl());
-                    userMap.put("resumeUrl", post.getUser().getResumeUrl());
-                    userMap.put("createdAt", post.getUser().getCreatedAt());
-                    if (post.getUser().getSkills() != null) {
-                        List<String> skillNames = post.getUser().getSkills().stream()
-                            .map(skill -> skill.getSkillName())
-                            .collect(java.util.stream.Collectors.toList());
-                        userMap.put("skills", skillNames);
-                    }
-                    postMap.put("user", userMap);
-                }
-                return postMap;
-            })
-            .collect(java.util.stream.Collectors.toList());
-        return ResponseEntity.ok(safePosts);
+    public ResponseEntity<?> getAllPosts(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                         WebRequest webRequest) {
+        return getAllPostsGlobal(cursor, size, acceptEncoding, webRequest);
     }
-    
+
+    // Written straight from the pre-rendered page cache; gzip when the client accepts it
     @GetMapping("/all")
-    public ResponseEntity<?> getAllPostsGlobal() {
-        List<Post> posts = postRepo.findAllByOrderByCreatedAtDesc();
-        List<Map<String, Object>> safePosts = posts.stream()
-            .map(post -> {
-                Map<String, Object> postMap = new HashMap<>();
-                postMap.put("id", post.getId());
-                postMap.put("content", post.getContent());
-                postMap.put("createdAt", post.getCreatedAt());
-                if (post.getUser() != null) {
-                    Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("id", post.getUser().getId());
-                    userMap.put("username", post.getUser().getUsername());
-                    userMap.put("email", post.getUser().getEmail());
-                    userMap.put("bio", post.getUser().getBio());
-                    userMap.put("location", post.getUser().getLocation());
-                    userMap.put("profilePicUrl", post.getUser().getProfilePicUrl());
-                    userMap.put("resumeUrl", post.getUser().getResumeUrl());
-                    userMap.put("createdAt", post.getUser().getCreatedAt());
-                    if (post.getUser().getSkills() != null) {
-                        List<String> skillNames = post.getUser().getSkills().stream()
-                            .map(skill -> skill.getSkillName())
-                            .collect(java.util.stream.Collectors.toList());
-                        userMap.put("skills", skillNames);
+    public ResponseEntity<?> getAllPostsGlobal(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                               WebRequest webRequest) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = contentVersions.etag(Post.class, Users.class, Skills.class);
+        if (gzip) {
+            // Each encoding is its own representation, so it needs its own strong tag
+            etag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+        // Answers 304 when the client's ETag is current for the encoding it would get
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        FeedPageCache.RenderedPage page;
+        try {
+            page = postFeedService.getRenderedGlobalFeed(cursor, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.json());
+    }
+
+    // Accept-Encoding allows gzip with a non-zero q-value, either by name or through "*"
+    // when gzip is not listed; "gzip;q=0" is a refusal
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.length() > 2 && param.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
                     }
-                    postMap.put("user", userMap);
                 }
-                return postMap;
-            })
-            .collect(java.util.stream.Collectors.toList());
-        return ResponseEntity.ok(safePosts);
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                wildcard = q;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
     }
-    
+
 }
 
 
@@ -21,12 +21,16 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.context.request.WebRequest;
 
 import com.social_portfolio_db.demo.naveen.Dtos.ProjectDTO;
 import com.social_portfolio_db.demo.naveen.Dtos.ProjectUploadRequest;
 import com.social_portfolio_db.demo.naveen.Entity.Projects;
+import com.social_portfolio_db.demo.naveen.Entity.ProjectsLike;
+import com.social_portfolio_db.demo.naveen.Entity.Users;
 import com.social_portfolio_db.demo.naveen.Services.ProjectService;
 import com.social_portfolio_db.demo.naveen.Jpa.ProjectsRepository;
+import com.social_portfolio_db.demo.naveen.ServicesImp.ContentVersions;
 import com.social_portfolio_db.demo.naveen.ServicesImp.LikeService;
 
 
@@ -39,6 +43,7 @@ public class ProjectsController {
     private final ProjectService projectsService;
     private final ProjectsRepository projectsRepository;
     private final LikeService likeService;
+    private final ContentVersions contentVersions;
 
     @PostMapping("/upload")
     public ResponseEntity<String> uploadProject(
@@ -196,10 +201,13 @@ public class ProjectsController {
 
     // Add this endpoint to return all projects
     @GetMapping
-    public ResponseEntity<List<ProjectDTO>> getAllProjects() {
+    public ResponseEntity<List<ProjectDTO>> getAllProjects(WebRequest webRequest) {
+        if (webRequest.checkNotModified(contentVersions.etag(Projects.class, ProjectsLike.class, Users.class))) {
+            return null;
+        }
         List<Projects> projects = projectsRepository.findAll();
         List<ProjectDTO> dtos = projects.stream().map(project -> {
-            int likeCount = project.getLikes() != null ? project.getLikes().size() : 0;
+            int likeCount = (int) likeService.getProjectLikeCount(project.getId());
             String username = project.getUser() != null ? project.getUser().getUsername() : null;
             Long userId = project.getUser() != null ? project.getUser().getId() : null;
             return new ProjectDTO(
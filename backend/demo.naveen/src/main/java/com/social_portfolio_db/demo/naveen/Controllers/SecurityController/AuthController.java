@@ -8,6 +8,7 @@ import com.social_portfolio_db.demo.naveen.Jpa.RoleRepository;
 import com.social_portfolio_db.demo.naveen.Payloads.JwtAuthRequest;
 import com.social_portfolio_db.demo.naveen.Payloads.JwtAuthResponse;
 import com.social_portfolio_db.demo.naveen.Security.JwtService;
+import com.social_portfolio_db.demo.naveen.ServicesImp.UserSearchIndex;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,6 +35,7 @@ public class AuthController {
     private final UserJpa userRepo;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepo;
+    private final UserSearchIndex userSearchIndex;
 
     @PostMapping("/login")
     public ResponseEntity<JwtAuthResponse> login(@RequestBody JwtAuthRequest request) {
@@ -81,6 +83,7 @@ public class AuthController {
         user.setRoles(Set.of(defaultRole));
 
         userRepo.save(user);
+        userSearchIndex.onUserSaved(user.getId());
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
         String token = jwtService.generateToken(userDetails);
@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
@@ -29,19 +30,33 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 
 import com.social_portfolio_db.demo.naveen.Dtos.UserProfileDTO;
+import com.social_portfolio_db.demo.naveen.Dtos.UserSearchPage;
+import com.social_portfolio_db.demo.naveen.Dtos.UserSuggestion;
+import com.social_portfolio_db.demo.naveen.Dtos.UsernameMatch;
+import com.social_portfolio_db.demo.naveen.ServicesImp.ContentVersions;
+import com.social_portfolio_db.demo.naveen.ServicesImp.FollowerLeaderboard;
+import com.social_portfolio_db.demo.naveen.ServicesImp.FriendSuggestionService;
+import com.social_portfolio_db.demo.naveen.ServicesImp.PostFeedService;
+import com.social_portfolio_db.demo.naveen.ServicesImp.UserSearchIndex;
 import com.social_portfolio_db.demo.naveen.ServicesImp.UserServiceImp;
 import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
 import com.social_portfolio_db.demo.naveen.Jpa.NotificationRepository;
 import com.social_portfolio_db.demo.naveen.Entity.Notification;
 import com.social_portfolio_db.demo.naveen.Entity.FriendRequest;
+import com.social_portfolio_db.demo.naveen.Entity.Projects;
+import com.social_portfolio_db.demo.naveen.Entity.ProjectsLike;
+import com.social_portfolio_db.demo.naveen.Entity.Skills;
 import com.social_portfolio_db.demo.naveen.Jpa.FriendRequestRepository;
 import com.social_portfolio_db.demo.naveen.Dtos.FriendRequestDTO;
 
@@ -57,21 +72,63 @@ public class UserController {
     private NotificationRepository notificationRepo;
     @Autowired
     private FriendRequestRepository friendRequestRepo;
+    @Autowired
+    private PostFeedService postFeedService;
+    @Autowired
+    private ContentVersions contentVersions;
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    @Autowired
+    private FollowerLeaderboard followerLeaderboard;
+    @Autowired
+    private FriendSuggestionService friendSuggestionService;
+
+    @Value("${users.autocomplete.default-limit:10}")
+    private int autocompleteDefaultLimit;
+    @Value("${users.autocomplete.max-limit:50}")
+    private int autocompleteMaxLimit;
+    @Value("${leaderboard.max-page-size:100}")
+    private int maxLeaderboardPageSize;
+    @Value("${suggestions.default-limit:10}")
+    private int suggestionsDefaultLimit;
+    @Value("${suggestions.max-results:50}")
+    private int suggestionsMaxLimit;
+    @Value("${users.follow-list.default-page-size:20}")
+    private int followListDefaultPageSize;
+    @Value("${users.follow-list.max-page-size:100}")
+    private int followListMaxPageSize;
+    @Value("${users.mutuals.preview-size:3}")
+    private int mutualsPreviewSize;
+    @Value("${users.mutuals.max-preview-size:20}")
+    private int mutualsMaxPreviewSize;
 
     @GetMapping("/users/{id}")
-        public ResponseEntity<UserProfileDTO> getProfile(@PathVariable Long id) {
+        public ResponseEntity<UserProfileDTO> getProfile(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(contentVersions.etag(
+                Users.class, Skills.class, Projects.class, ProjectsLike.class, FriendRequest.class))) {
+            return null;
+        }
         UserProfileDTO profile = userServiceImp.getUserProfile(id);
             return ResponseEntity.ok(profile);
 
 }
 
+    // Username suggestions for the search box, served from memory
+    @GetMapping("/users/autocomplete")
+    public ResponseEntity<List<UsernameMatch>> autocompleteUsernames(@RequestParam String prefix,
+                                                                     @RequestParam(required = false) Integer limit) {
+        int count = limit == null || limit <= 0 ? autocompleteDefaultLimit : Math.min(limit, autocompleteMaxLimit);
+        return ResponseEntity.ok(userSearchIndex.autocomplete(prefix, count));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<UserProfileDTO>> searchUsers(
+    public ResponseEntity<UserSearchPage> searchUsers(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String skill,
-            @RequestParam(required = false) String location) {
+            @RequestParam(required = false) String location,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
 
-        List<UserProfileDTO> results = userServiceImp.searchUsersByParams(name, skill, location);
+        UserSearchPage results = userServiceImp.searchUsersByParams(name, skill, location, pageable);
         return ResponseEntity.ok(results);
     }
 
@@ -126,6 +183,7 @@ public class UserController {
             // Update user's resume URL
             user.setResumeUrl("/files/resumes/" + fileName);
             userRepo.save(user);
+            postFeedService.onAuthorChanged(id);
             
             return ResponseEntity.ok("Resume uploaded successfully");
         } catch (Exception e) {
@@ -158,6 +216,7 @@ public class UserController {
             
             user.setResumeUrl(null);
             userRepo.save(user);
+            postFeedService.onAuthorChanged(id);
             return ResponseEntity.ok("Resume removed successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -180,6 +239,7 @@ public class UserController {
             
             user.setProfilePicUrl(null);
             userRepo.save(user);
+            postFeedService.onAuthorChanged(id);
             return ResponseEntity.ok("Profile picture removed successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -281,15 +341,11 @@ public class UserController {
     }
 
     @GetMapping("/users/{id}/followers")
-    public ResponseEntity<?> getFollowers(@PathVariable Long id) {
+    public ResponseEntity<?> getFollowers(@PathVariable Long id,
+                                          @RequestParam(required = false) Long after,
+                                          @RequestParam(required = false) Integer size) {
         try {
-            // Use the proper repository method instead of loading all users
-            Set<Users> followers = userRepo.findFollowersOfUser(id);
-            if (followers.isEmpty()) {
-                return ResponseEntity.ok(new ArrayList<>(followers));
-            } else {
-                return ResponseEntity.ok(new ArrayList<>(followers));
-            }
+            return ResponseEntity.ok(userServiceImp.getFollowers(id, after, followPageSize(size)));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -298,15 +354,11 @@ public class UserController {
     }
 
     @GetMapping("/users/{id}/following")
-    public ResponseEntity<?> getFollowing(@PathVariable Long id) {
+    public ResponseEntity<?> getFollowing(@PathVariable Long id,
+                                          @RequestParam(required = false) Long after,
+                                          @RequestParam(required = false) Integer size) {
         try {
-            // Use the proper repository method
-            Set<Users> following = userRepo.findFollowings(id);
-            if (following.isEmpty()) {
-                return ResponseEntity.ok(new ArrayList<>(following));
-            } else {
-                return ResponseEntity.ok(new ArrayList<>(following));
-            }
+            return ResponseEntity.ok(userServiceImp.getFollowing(id, after, followPageSize(size)));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -314,6 +366,27 @@ public class UserController {
         }
     }
 
+    private int followPageSize(Integer size) {
+        return size == null || size <= 0 ? followListDefaultPageSize : Math.min(size, followListMaxPageSize);
+    }
+
+    // People followed by the people this user follows, best first
+    @GetMapping("/users/{id}/suggestions")
+    public ResponseEntity<List<UserSuggestion>> getSuggestions(@PathVariable Long id,
+                                                               @RequestParam(required = false) Integer limit) {
+        int count = limit == null || limit <= 0 ? suggestionsDefaultLimit : Math.min(limit, suggestionsMaxLimit);
+        return ResponseEntity.ok(friendSuggestionService.suggest(id, count));
+    }
+
+    // Who among the people the caller follows also follows this user
+    @GetMapping("/users/{id}/mutuals")
+    public ResponseEntity<?> getMutualFollowers(@PathVariable Long id,
+                                                @AuthenticationPrincipal UserDetails userDetails,
+                                                @RequestParam(required = false) Integer limit) {
+        int count = limit == null || limit < 0 ? mutualsPreviewSize : Math.min(limit, mutualsMaxPreviewSize);
+        return userServiceImp.getMutualFollowers(id, userDetails, count);
+    }
+
     @GetMapping("/users/{id}/notifications")
     public ResponseEntity<?> getNotifications(@PathVariable Long id) {
         Users user = userRepo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
@@ -358,24 +431,12 @@ public class UserController {
 
     @GetMapping("/admin/most-followed-users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getMostFollowedUsers() {
-        List<Users> users = userRepo.findAll();
-        List<Object> result = users.stream().map(u -> {
-            int followerCount = 0;
-            try {
-                followerCount = userRepo.findFollowersOfUser(u.getId()).size();
-            } catch (Exception e) {
-                followerCount = 0;
-            }
-            return java.util.Map.of(
-                "userId", u.getId(),
-                "username", u.getUsername(),
-                "followerCount", followerCount
-            );
-        }).sorted((a, b) -> Integer.compare((int) b.get("followerCount"), (int) a.get("followerCount")))
-        .limit(10)
-        .collect(Collectors.toList());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> getMostFollowedUsers(@RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "10") int size) {
+        if (page < 0 || size < 1) {
+            return ResponseEntity.badRequest().body("page must be >= 0 and size >= 1");
+        }
+        return ResponseEntity.ok(followerLeaderboard.page(page, Math.min(size, maxLeaderboardPageSize)));
     }
 
     @GetMapping("/users/{id}/following-with-status")
@@ -0,0 +1,110 @@
+package com.social_portfolio_db.demo.naveen.DataInitializer;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gets the one-row-per-pair unique keys of project_likes, profile_likes and friend_requests
+ * in place on an existing database. ddl-auto=update only logs it when adding a key fails, and
+ * it fails while duplicate rows exist, so before the EntityManagerFactory starts any table
+ * still missing its key has duplicate pairs deleted (keeping the row its {@code keep}
+ * aggregate picks). Once Hibernate has updated the schema the keys are checked, and startup
+ * stops if one is still missing.
+ */
+@Configuration
+@Slf4j
+public class LikeUniqueKeys {
+
+    // keep picks the id that survives in each duplicate group
+    private record Key(String table, String first, String second, String keep) {}
+
+    private static final List<Key> KEYS = List.of(
+        new Key("project_likes", "user_id", "project_id", "MIN(id)"),
+        new Key("profile_likes", "liked_by_user_id", "liked_user_id", "MIN(id)"),
+        // An accepted row is a live follow edge, so it wins over stale pending/declined ones
+        new Key("friend_requests", "from_user_id", "to_user_id",
+            "COALESCE(MAX(CASE WHEN status = 'ACCEPTED' THEN id END), MAX(id))"));
+
+    // Makes the cleanup below run before Hibernate touches the schema
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor likeDuplicatesRemovedFirst() {
+        return new EntityManagerFactoryDependsOnPostProcessor("likeDuplicateCleanup");
+    }
+
+    // Plain JdbcTemplate on the DataSource: the JdbcTemplate bean may itself wait for JPA
+    @Bean
+    InitializingBean likeDuplicateCleanup(DataSource dataSource) {
+        return () -> {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            for (Key key : KEYS) {
+                if (!tableExists(dataSource, key.table()) || hasUniqueKey(dataSource, key)) {
+                    continue;
+                }
+                int deleted = jdbc.update(
+                    "DELETE FROM " + key.table() + " WHERE " + key.first() + " IS NOT NULL AND " +
+                    key.second() + " IS NOT NULL AND id NOT IN (SELECT keep_id FROM (" +
+                    "SELECT " + key.keep() + " AS keep_id FROM " + key.table() + " GROUP BY " +
+                    key.first() + ", " + key.second() + ") keep)");
+                if (deleted > 0) {
+                    log.warn("Deleted {} duplicate rows from {} before adding its unique key", deleted, key.table());
+                }
+            }
+        };
+    }
+
+    @Bean
+    InitializingBean likeUniqueKeysCheck(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        return () -> {
+            for (Key key : KEYS) {
+                if (!hasUniqueKey(dataSource, key)) {
+                    throw new IllegalStateException("Unique key on " + key.table() + " (" + key.first() + ", " +
+                        key.second() + ") is missing; remove the duplicate rows and restart");
+                }
+            }
+        };
+    }
+
+    private static boolean tableExists(DataSource dataSource, String table) throws SQLException {
+        try (Connection con = dataSource.getConnection();
+             ResultSet tables = con.getMetaData().getTables(con.getCatalog(), null, table, new String[] {"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    // True if some unique index covers exactly the key's two columns
+    private static boolean hasUniqueKey(DataSource dataSource, Key key) throws SQLException {
+        Map<String, Set<String>> columnsByIndex = new HashMap<>();
+        try (Connection con = dataSource.getConnection()) {
+            DatabaseMetaData meta = con.getMetaData();
+            try (ResultSet index = meta.getIndexInfo(con.getCatalog(), null, key.table(), true, false)) {
+                while (index.next()) {
+                    String name = index.getString("INDEX_NAME");
+                    String column = index.getString("COLUMN_NAME");
+                    if (name != null && column != null) {
+                        columnsByIndex.computeIfAbsent(name, n -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return columnsByIndex.containsValue(Set.of(key.first(), key.second()));
+    }
+}
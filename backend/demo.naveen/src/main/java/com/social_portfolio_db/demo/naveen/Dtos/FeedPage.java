@@ -0,0 +1,7 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.util.List;
+
+// One page of a feed; nextCursor is null when there are no more posts
+public record FeedPage(List<PostView> posts, String nextCursor) {
+}
@@ -0,0 +1,8 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.util.List;
+
+// One page of a followers/following list ordered by user id; pass nextCursor as ?after= for the
+// next page (null on the last page). total is the user's maintained follower/following count.
+public record FollowPage(List<FollowUser> users, Long nextCursor, long total) {
+}
@@ -0,0 +1,5 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+// Entry in a followers/following list
+public record FollowUser(Long id, String username, String profilePicUrl) {
+}
@@ -0,0 +1,5 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+// One row of the most-followed ranking
+public record LeaderboardEntry(Long userId, String username, int followerCount) {
+}
@@ -0,0 +1,5 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+// Like count of one post or project and whether the caller has liked it
+public record LikeSummary(Long id, long likeCount, boolean liked) {
+}
@@ -0,0 +1,7 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.util.List;
+
+// "Followed by X, Y and N others you know": the first few people the viewer follows who follow the user, plus how many there are
+public record MutualFollowers(List<UserCard> users, long total) {
+}
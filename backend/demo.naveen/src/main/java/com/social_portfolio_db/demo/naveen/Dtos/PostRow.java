@@ -0,0 +1,19 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.time.LocalDateTime;
+
+// Flat post + author columns, filled by a JPQL constructor expression so no entities are loaded
+public record PostRow(
+    Long id,
+    String content,
+    LocalDateTime createdAt,
+    Long userId,
+    String username,
+    String email,
+    String bio,
+    String location,
+    String profilePicUrl,
+    String resumeUrl,
+    LocalDateTime userCreatedAt
+) {
+}
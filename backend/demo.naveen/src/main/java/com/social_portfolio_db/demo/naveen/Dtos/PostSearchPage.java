@@ -0,0 +1,7 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.util.List;
+
+// One page of search results, best match first; total counts every matching post
+public record PostSearchPage(List<PostView> posts, long total, int page, int size) {
+}
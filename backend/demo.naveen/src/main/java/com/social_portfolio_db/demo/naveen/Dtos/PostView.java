@@ -0,0 +1,27 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// A post as returned by the feed endpoints
+public record PostView(Long id, String content, LocalDateTime createdAt, Author user) {
+
+    public record Author(
+        Long id,
+        String username,
+        String email,
+        String bio,
+        String location,
+        String profilePicUrl,
+        String resumeUrl,
+        LocalDateTime createdAt,
+        List<String> skills
+    ) {
+    }
+
+    public static PostView of(PostRow row, List<String> skills) {
+        Author author = new Author(row.userId(), row.username(), row.email(), row.bio(), row.location(),
+            row.profilePicUrl(), row.resumeUrl(), row.userCreatedAt(), skills);
+        return new PostView(row.id(), row.content(), row.createdAt(), author);
+    }
+}
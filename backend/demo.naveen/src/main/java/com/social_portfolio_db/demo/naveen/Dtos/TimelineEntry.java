@@ -0,0 +1,7 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.time.LocalDateTime;
+
+// A post reference as stored in a materialized home timeline
+public record TimelineEntry(Long postId, LocalDateTime createdAt) {
+}
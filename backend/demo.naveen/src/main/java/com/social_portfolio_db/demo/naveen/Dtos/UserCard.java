@@ -0,0 +1,5 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+// Lightweight user search result: just enough to render a result card and link to the profile
+public record UserCard(Long id, String username, String email, String profilePicUrl, String location) {
+}
@@ -0,0 +1,7 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+import java.util.List;
+
+// One page of user search results; total counts every matching user
+public record UserSearchPage(List<UserCard> users, long total, int page, int size) {
+}
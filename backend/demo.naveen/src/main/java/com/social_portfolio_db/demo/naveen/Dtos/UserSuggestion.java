@@ -0,0 +1,5 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+// "People you may know" entry: how many of the viewer's followings follow this user, and skills in common
+public record UserSuggestion(UserCard user, int mutualFollows, int sharedSkills) {
+}
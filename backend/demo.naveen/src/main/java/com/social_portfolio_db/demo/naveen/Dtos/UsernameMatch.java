@@ -0,0 +1,5 @@
+package com.social_portfolio_db.demo.naveen.Dtos;
+
+// Username autocomplete suggestion
+public record UsernameMatch(Long id, String username) {
+}
@@ -0,0 +1,24 @@
+package com.social_portfolio_db.demo.naveen.Entity;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.social_portfolio_db.demo.naveen.ServicesImp.ContentVersions;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// Created by Hibernate through the Spring bean container, so it can be injected
+public class ContentVersionListener {
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        contentVersions.bump(Hibernate.getClass(entity));
+    }
+}
@@ -5,7 +5,15 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "friend_requests")
+@EntityListeners(ContentVersionListener.class)
+// One row per (from, to) pair; its status says where the request or follow stands
+@Table(name = "friend_requests",
+    uniqueConstraints = @UniqueConstraint(name = "uk_friend_requests_from_to", columnNames = {"from_user_id", "to_user_id"}),
+    indexes = {
+        // Follower/following list pages: equality on the owner and status, range on the other side
+        @Index(name = "idx_fr_to_status_from", columnList = "to_user_id, status, from_user_id"),
+        @Index(name = "idx_fr_from_status_to", columnList = "from_user_id, status, to_user_id")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
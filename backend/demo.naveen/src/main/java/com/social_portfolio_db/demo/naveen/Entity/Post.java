@@ -10,6 +10,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.GeneratedValue;
@@ -20,10 +21,17 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "posts")
+@EntityListeners(ContentVersionListener.class)
+@Table(name = "posts", indexes = {
+    // Backs the (createdAt, id) keyset pagination used by the feed endpoints
+    @Index(name = "idx_posts_created_at_id", columnList = "created_at, id"),
+    // Per-author timelines (profile posts, home timeline rebuilds)
+    @Index(name = "idx_posts_user_created_at_id", columnList = "user_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,9 +44,14 @@ public class Post {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
-    @Column(nullable = false, updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Denormalized size of likedBy. Only written by PostLikeCounter, never by entity saves.
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long likeCount;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnoreProperties({"posts", "likedProjects", "likedProfiles", "receivedLikes", "password", "roles"})
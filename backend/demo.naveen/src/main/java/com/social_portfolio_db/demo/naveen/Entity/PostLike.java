@@ -0,0 +1,48 @@
+package com.social_portfolio_db.demo.naveen.Entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// A row of the post_likes join table behind Post.likedBy, mapped on its own so the table
+// records when each like happened. Rows are written by PostRepository.insertLike/deleteLike.
+@Entity
+@Table(name = "post_likes", indexes = @Index(name = "idx_post_likes_created_at", columnList = "created_at"))
+@IdClass(PostLike.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostLike {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Null for likes made before the column existed
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long postId;
+        private Long userId;
+    }
+}
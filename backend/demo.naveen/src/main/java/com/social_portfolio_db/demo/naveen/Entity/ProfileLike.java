@@ -10,13 +10,16 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "profile_likes")
+// One like per (liker, liked user)
+@Table(name = "profile_likes", uniqueConstraints =
+    @UniqueConstraint(name = "uk_profile_likes_by_user", columnNames = {"liked_by_user_id", "liked_user_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,7 +1,9 @@
 package com.social_portfolio_db.demo.naveen.Entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,7 +29,10 @@ import jakarta.persistence.Column;
 // );
 
 @Entity
-@Table(name = "project_likes")
+@EntityListeners(ContentVersionListener.class)
+// One like per (user, project); the key also serves the user-side lookups
+@Table(name = "project_likes", uniqueConstraints =
+    @UniqueConstraint(name = "uk_project_likes_user_project", columnNames = {"user_id", "project_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,7 @@ package com.social_portfolio_db.demo.naveen.Entity;
 
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -22,6 +23,7 @@ import lombok.Setter;
 //     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 // );
 @Entity
+@EntityListeners(ContentVersionListener.class)
 @Table(name = "skills")
 @Getter
 @Setter
@@ -20,7 +20,11 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "users")
+@EntityListeners(ContentVersionListener.class)
+@Table(name = "users", indexes = {
+    // Most-followed ranking past the in-memory leaderboard; matches ORDER BY follower_count DESC, id
+    @Index(name = "idx_users_follower_count_desc_id", columnList = "follower_count DESC, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,6 +59,16 @@ public class Users {
     @Column(name = "resume_url", length = 255)
     private String resumeUrl;
 
+    // Denormalized ACCEPTED follow edge counts. Written only by native updates in UserJpa,
+    // never by entity saves; FollowCountRepair recomputes them from friend_requests.
+    @Column(name = "follower_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int followerCount;
+
+    @Column(name = "following_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int followingCount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
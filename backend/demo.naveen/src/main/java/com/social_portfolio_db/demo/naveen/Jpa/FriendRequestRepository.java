@@ -2,7 +2,13 @@ package com.social_portfolio_db.demo.naveen.Jpa;
 
 import com.social_portfolio_db.demo.naveen.Entity.FriendRequest;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +19,56 @@ public interface FriendRequestRepository extends JpaRepository<FriendRequest, Lo
     List<FriendRequest> findByToUserAndStatus(Users toUser, String status);
     List<FriendRequest> findByFromUserAndStatus(Users fromUser, String status);
     boolean existsByFromUserAndToUserAndStatus(Users fromUser, Users toUser, String status);
-} 
\ No newline at end of file
+
+    // Inserts the (from, to) row unless one exists; 1 if inserted. The unique key on the pair
+    // decides concurrent inserts, and the loser gets 0 instead of an error that would mark the
+    // caller's transaction rollback-only. Bulk writes skip ContentVersionListener
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO friend_requests (from_user_id, to_user_id, status, created_at) " +
+                   "VALUES (:fromId, :toId, :status, :createdAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                       @Param("status") String status, @Param("createdAt") LocalDateTime createdAt);
+
+    // Status changes that report whether this call made them, so only one of two concurrent
+    // requests adjusts the follow counters
+    @Modifying
+    @Transactional
+    @Query("UPDATE FriendRequest fr SET fr.status = :status " +
+           "WHERE fr.fromUser.id = :fromId AND fr.toUser.id = :toId AND fr.status <> :status")
+    int updateStatusUnless(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("status") String status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE FriendRequest fr SET fr.status = :status " +
+           "WHERE fr.fromUser.id = :fromId AND fr.toUser.id = :toId AND fr.status = :expected")
+    int updateStatusIf(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                       @Param("expected") String expected, @Param("status") String status);
+
+    // Id-only views of the ACCEPTED follow edges, for callers that don't need the Users rows
+    @Query("SELECT fr.fromUser.id FROM FriendRequest fr WHERE fr.toUser.id = :userId AND fr.status = 'ACCEPTED'")
+    List<Long> findFollowerIds(@Param("userId") Long userId);
+
+    @Query("SELECT fr.toUser.id FROM FriendRequest fr WHERE fr.fromUser.id = :userId AND fr.status = 'ACCEPTED'")
+    List<Long> findFollowingIds(@Param("userId") Long userId);
+
+    long countByToUserIdAndStatus(Long toUserId, String status);
+
+    // (requestId, fromUserId, toUserId) of ACCEPTED edges in request id order, for loading SocialGraph
+    @Query("SELECT fr.id, fr.fromUser.id, fr.toUser.id FROM FriendRequest fr " +
+           "WHERE fr.status = 'ACCEPTED' AND fr.id > :afterId ORDER BY fr.id")
+    List<Object[]> findAcceptedEdgesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Single row: (distinct edge count, sum of hashA, sum of hashB) over distinct ACCEPTED
+    // (from, to) pairs, where x = (from * 1000003 + to) mod P, y = (to * 999983 + from) mod P,
+    // hashA = x * x mod P and hashB = y * y mod P. P = 2147483659 is a prime just past the INT
+    // range, so the arithmetic stays BIGINT everywhere and x * x still fits. SocialGraph.edgeHash
+    // computes the same values in memory
+    @Query(value = "SELECT COUNT(*), COALESCE(SUM(MOD(e.x * e.x, 2147483659)), 0), " +
+                   "COALESCE(SUM(MOD(e.y * e.y, 2147483659)), 0) FROM (" +
+                   "SELECT MOD(from_user_id * 1000003 + to_user_id, 2147483659) AS x, " +
+                   "MOD(to_user_id * 999983 + from_user_id, 2147483659) AS y " +
+                   "FROM friend_requests WHERE status = 'ACCEPTED' " +
+                   "GROUP BY from_user_id, to_user_id) e", nativeQuery = true)
+    List<Object[]> findAcceptedEdgeFingerprint();
+}
@@ -1,9 +1,19 @@
 package com.social_portfolio_db.demo.naveen.Jpa;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.social_portfolio_db.demo.naveen.Dtos.PostRow;
+import com.social_portfolio_db.demo.naveen.Dtos.TimelineEntry;
 import com.social_portfolio_db.demo.naveen.Entity.Post;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -12,5 +22,64 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findAllByOrderByCreatedAtDesc();
     boolean existsByLikedBy_IdAndId(Long userId, Long postId);
     long countByLikedBy_Id(Long postId);
-}
 
+    String POST_ROW = "SELECT new com.social_portfolio_db.demo.naveen.Dtos.PostRow(" +
+        "p.id, p.content, p.createdAt, u.id, u.username, u.email, u.bio, u.location, u.profilePicUrl, u.resumeUrl, u.createdAt) " +
+        "FROM Post p JOIN p.user u ";
+
+    // Keyset pagination over (createdAt, id); both use idx_posts_created_at_id
+    @Query(POST_ROW + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostRow> findFeedRows(Pageable pageable);
+
+    @Query(POST_ROW + "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+        "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostRow> findFeedRowsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    @Query(POST_ROW + "WHERE u.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query(POST_ROW + "WHERE p.id IN :ids")
+    List<PostRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Home timeline: newest (id, createdAt) pairs written by any of the given authors
+    @Query("SELECT new com.social_portfolio_db.demo.naveen.Dtos.TimelineEntry(p.id, p.createdAt) FROM Post p " +
+        "WHERE p.user.id IN :authorIds ORDER BY p.createdAt DESC, p.id DESC")
+    List<TimelineEntry> findTimelineEntries(@Param("authorIds") Collection<Long> authorIds, Pageable pageable);
+
+    @Query("SELECT new com.social_portfolio_db.demo.naveen.Dtos.TimelineEntry(p.id, p.createdAt) FROM Post p " +
+        "WHERE p.user.id IN :authorIds AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+        "ORDER BY p.createdAt DESC, p.id DESC")
+    List<TimelineEntry> findTimelineEntriesAfter(@Param("authorIds") Collection<Long> authorIds,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    // Single-statement writes to the post_likes join table; return the number of rows changed
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO post_likes (post_id, user_id, created_at) VALUES (:postId, :userId, :likedAt)", nativeQuery = true)
+    int insertLike(@Param("postId") Long postId, @Param("userId") Long userId, @Param("likedAt") LocalDateTime likedAt);
+
+    // Empty if the user has not liked the post, or liked it before likes were timestamped
+    @Query("SELECT l.createdAt FROM PostLike l WHERE l.postId = :postId AND l.userId = :userId")
+    Optional<LocalDateTime> findLikedAt(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM post_likes WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // (postId, like_count, number of likes by userId: 0 or 1) for each existing post among ids
+    @Query(value = "SELECT p.id, p.like_count, (SELECT COUNT(*) FROM post_likes pl " +
+        "WHERE pl.post_id = p.id AND pl.user_id = :userId) FROM posts p WHERE p.id IN (:ids)", nativeQuery = true)
+    List<Object[]> findLikeSummaries(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :postId")
+    Optional<Long> findLikeCountById(@Param("postId") Long postId);
+
+    // (id, content) in id order, for rebuilding the search index in batches
+    @Query("SELECT p.id, p.content FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findContentAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
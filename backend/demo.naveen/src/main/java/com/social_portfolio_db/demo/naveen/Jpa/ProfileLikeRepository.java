@@ -1,7 +1,14 @@
 package com.social_portfolio_db.demo.naveen.Jpa;
 
 import com.social_portfolio_db.demo.naveen.Entity.ProfileLike;
+
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ProfileLikeRepository extends JpaRepository<ProfileLike, Long> {
     
@@ -10,4 +17,14 @@ public interface ProfileLikeRepository extends JpaRepository<ProfileLike, Long>
 
     // Count how many likes a user received
     long countByLikedUserId(Long likedUser);
+
+    // (likedUserId, likes) for every user with at least one like
+    @Query("SELECT l.likedUser.id, COUNT(l) FROM ProfileLike l GROUP BY l.likedUser.id")
+    List<Object[]> countLikesByLikedUser();
+
+    // Deletes by the (liker, liked user) key; returns the number of rows removed
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProfileLike l WHERE l.likedBy.id = :likedById AND l.likedUser.id = :likedUserId")
+    int deleteByKey(@Param("likedById") Long likedById, @Param("likedUserId") Long likedUserId);
 }
@@ -1,11 +1,31 @@
 package com.social_portfolio_db.demo.naveen.Jpa;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.social_portfolio_db.demo.naveen.Entity.ProjectsLike;
 
 public interface ProjectsLikeRepository extends JpaRepository<ProjectsLike, Long> {
     boolean existsByUserIdAndProjectId(Long userId, Long projectId);
     long countByProjectId(Long projectId);
-}
 
+    // Which of the given projects userId has liked
+    @Query("SELECT l.project.id FROM ProjectsLike l WHERE l.user.id = :userId AND l.project.id IN :ids")
+    List<Long> findLikedProjectIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // (projectId, likes) for every project with at least one like
+    @Query("SELECT l.project.id, COUNT(l) FROM ProjectsLike l GROUP BY l.project.id")
+    List<Object[]> countLikesByProject();
+
+    // Deletes by the (user, project) key; returns the number of rows removed
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProjectsLike l WHERE l.user.id = :userId AND l.project.id = :projectId")
+    int deleteByKey(@Param("userId") Long userId, @Param("projectId") Long projectId);
+}
@@ -1,8 +1,12 @@
 package com.social_portfolio_db.demo.naveen.Jpa;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.social_portfolio_db.demo.naveen.Entity.Skills;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
@@ -10,4 +14,11 @@ import com.social_portfolio_db.demo.naveen.Entity.Users;
 public interface SkillRepository extends JpaRepository<Skills, Long> {
     Optional<Skills> findBySkillName(String skillName);
     Optional<Skills> findBySkillNameAndUser(String skillName, Users user);
+
+    // [userId, skillName] pairs for a batch of users
+    @Query("SELECT s.user.id, s.skillName FROM Skills s WHERE s.user.id IN :userIds")
+    List<Object[]> findSkillNamesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT s.user.id, s.skillName FROM Skills s")
+    List<Object[]> findAllSkillNames();
 }
@@ -1,13 +1,21 @@
 package com.social_portfolio_db.demo.naveen.Jpa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.social_portfolio_db.demo.naveen.Dtos.FollowUser;
+import com.social_portfolio_db.demo.naveen.Dtos.LeaderboardEntry;
+import com.social_portfolio_db.demo.naveen.Dtos.UserCard;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
 import com.social_portfolio_db.demo.naveen.Entity.FriendRequest;
 import org.springframework.stereotype.Repository;
@@ -19,25 +27,28 @@ public interface UserJpa extends JpaRepository<Users, Long> {
 
     Optional<Users> findByEmail(String email);
 
-    @Query("SELECT u FROM Users u JOIN u.skills s WHERE s.skillName = :skill AND LOWER(u.username) LIKE LOWER(CONCAT('%', :username, '%'))")
-    List<Users> findBySkillNameAndUsernameContainingIgnoreCase(@Param("skill") String skill, @Param("username") String username);
+    String USER_CARD = "SELECT new com.social_portfolio_db.demo.naveen.Dtos.UserCard(" +
+        "u.id, u.username, u.email, u.profilePicUrl, u.location) FROM Users u ";
 
-    @Query("SELECT u FROM Users u JOIN u.skills s WHERE s.skillName = :skill")
-    List<Users> findBySkillName(@Param("skill") String skill);
+    String SKILL_AND_NAME_FILTER = "WHERE (:skill IS NULL OR EXISTS (SELECT s.id FROM Skills s WHERE s.user = u AND s.skillName = :skill)) " +
+        "AND (:username IS NULL OR LOWER(u.username) LIKE LOWER(CONCAT('%', :username, '%')))";
 
-    List<Users> findByUsernameContainingIgnoreCase(String username);
+    @Query(value = USER_CARD + SKILL_AND_NAME_FILTER,
+           countQuery = "SELECT COUNT(u) FROM Users u " + SKILL_AND_NAME_FILTER)
+    Page<UserCard> findCardsBySkillAndName(@Param("skill") String skill,
+                                           @Param("username") String username,
+                                           Pageable pageable);
 
+    @Query(USER_CARD + "WHERE u.id IN :ids")
+    List<UserCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT DISTINCT u FROM Users u LEFT JOIN u.skills s " +
-        "WHERE (:name IS NULL OR LOWER(u.username) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-        "AND (:skill IS NULL OR LOWER(s.skillName) LIKE LOWER(CONCAT('%', :skill, '%'))) " +
-        "AND (:location IS NULL OR LOWER(u.location) LIKE LOWER(CONCAT('%', :location, '%')))")
-        List<Users> searchUsers(@Param("name") String name,
-                        @Param("skill") String skill,
-                        @Param("location") String location);
 
-    @Query(value = "SELECT u.* FROM users u LEFT JOIN user_followers f ON u.id = f.user_id GROUP BY u.id ORDER BY COUNT(f.follower_id) DESC LIMIT 10", nativeQuery = true)
-    List<Users> findTop10UsersByFollowers();
+    // (id, username, location) rows for the in-memory user search index
+    @Query("SELECT u.id, u.username, u.location FROM Users u")
+    List<Object[]> findSearchFields();
+
+    @Query("SELECT u.id, u.username, u.location FROM Users u WHERE u.id = :id")
+    List<Object[]> findSearchFieldsById(@Param("id") Long id);
 
     @Query("SELECT u FROM Users u LEFT JOIN FETCH u.skills WHERE u.id = :id")
     Optional<Users> findByIdWithSkills(@Param("id") Long id);
@@ -50,6 +61,66 @@ public interface UserJpa extends JpaRepository<Users, Long> {
     @Query("SELECT DISTINCT fr.fromUser FROM FriendRequest fr WHERE fr.toUser.id = :userId AND fr.status = 'ACCEPTED'")
     Set<Users> findFollowersOfUser(@Param("userId") Long userId);
 
+    String FOLLOW_USER = "SELECT DISTINCT new com.social_portfolio_db.demo.naveen.Dtos.FollowUser(" +
+        "u.id, u.username, u.profilePicUrl) FROM FriendRequest fr ";
+
+    // Keyset pages of the same lists, ordered by user id
+    @Query(FOLLOW_USER + "JOIN fr.fromUser u WHERE fr.toUser.id = :userId AND fr.status = 'ACCEPTED' " +
+        "AND u.id > :afterId ORDER BY u.id")
+    List<FollowUser> findFollowerPage(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(FOLLOW_USER + "JOIN fr.toUser u WHERE fr.fromUser.id = :userId AND fr.status = 'ACCEPTED' " +
+        "AND u.id > :afterId ORDER BY u.id")
+    List<FollowUser> findFollowingPage(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // (userId, followers, following) for each given user with at least one ACCEPTED edge,
+    // counted the same way as findFollowersOfUser / findFollowings
+    @Query(value = "SELECT c.user_id, SUM(c.followers), SUM(c.following) FROM (" +
+        "SELECT to_user_id AS user_id, COUNT(DISTINCT from_user_id) AS followers, 0 AS following " +
+        "FROM friend_requests WHERE status = 'ACCEPTED' AND to_user_id IN (:ids) GROUP BY to_user_id " +
+        "UNION ALL " +
+        "SELECT from_user_id, 0, COUNT(DISTINCT to_user_id) " +
+        "FROM friend_requests WHERE status = 'ACCEPTED' AND from_user_id IN (:ids) GROUP BY from_user_id" +
+        ") c GROUP BY c.user_id", nativeQuery = true)
+    List<Object[]> countFollowsByUserIds(@Param("ids") Collection<Long> ids);
+
+    // Applies an added (+1) or removed (-1) follow edge to both users' counters in one statement
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET " +
+        "follower_count = follower_count + CASE WHEN id = :followedId THEN :delta ELSE 0 END, " +
+        "following_count = following_count + CASE WHEN id = :followerId THEN :delta ELSE 0 END " +
+        "WHERE id = :followerId OR id = :followedId", nativeQuery = true)
+    int addFollowEdge(@Param("followerId") Long followerId, @Param("followedId") Long followedId, @Param("delta") int delta);
+
+    // (id, followerCount, followingCount) in id order, for the repair job
+    @Query("SELECT u.id, u.followerCount, u.followingCount FROM Users u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findFollowCountsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Writes only if the counters still hold the values the repair job read, so a follow
+    // committed in between is not overwritten
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET follower_count = :followers, following_count = :following " +
+        "WHERE id = :id AND follower_count = :oldFollowers AND following_count = :oldFollowing", nativeQuery = true)
+    int repairFollowCounts(@Param("id") Long id,
+                           @Param("oldFollowers") int oldFollowers, @Param("oldFollowing") int oldFollowing,
+                           @Param("followers") int followers, @Param("following") int following);
+
+    // Most followed first, ties by id
+    @Query("SELECT new com.social_portfolio_db.demo.naveen.Dtos.LeaderboardEntry(u.id, u.username, u.followerCount) " +
+        "FROM Users u ORDER BY u.followerCount DESC, u.id")
+    List<LeaderboardEntry> findMostFollowed(Pageable pageable);
+
+    @Query("SELECT u.followerCount FROM Users u WHERE u.id = :id")
+    Optional<Integer> findFollowerCountById(@Param("id") Long id);
+
+    @Query("SELECT u.followingCount FROM Users u WHERE u.id = :id")
+    Optional<Integer> findFollowingCountById(@Param("id") Long id);
+
+    @Query("SELECT u.id, u.username FROM Users u WHERE u.id IN :ids")
+    List<Object[]> findUsernamesByIdIn(@Param("ids") Collection<Long> ids);
+
 
 
 
@@ -4,13 +4,15 @@ import com.social_portfolio_db.demo.naveen.Dtos.UserProfileDTO;
 import com.social_portfolio_db.demo.naveen.Dtos.ProjectDTO;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
 import com.social_portfolio_db.demo.naveen.Entity.Skills;
-import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
 
 import java.util.stream.Collectors;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
 
 public class UserProfileMapper {
-    public static UserProfileDTO toDto(Users user, UserJpa userRepo) {
+    // projectLikeCount maps a project id to its like count (see LikeCounters)
+    public static UserProfileDTO toDto(Users user, LongUnaryOperator projectLikeCount) {
         UserProfileDTO dto = new UserProfileDTO();
         dto.setId(user.getId());
         dto.setUsername(user.getUsername());
@@ -46,7 +48,7 @@ public class UserProfileMapper {
                         p.setTitle(project.getTitle());
                         p.setDescription(project.getDescription());
                         p.setImageUrl(project.getImageUrl());
-                        p.setLikeCount(project.getLikes() != null ? project.getLikes().size() : 0);
+                        p.setLikeCount((int) projectLikeCount.applyAsLong(project.getId()));
                         return p;
                     }).collect(Collectors.toList())
             );
@@ -66,22 +68,14 @@ public class UserProfileMapper {
             dto.setRoles(Collections.emptyList());
         }
 
-        // Set followers and following counts (from friend_requests table)
-        int followersCount = 0;
-        int followingCount = 0;
-        try {
-            followersCount = userRepo.findFollowersOfUser(user.getId()).size();
-            followingCount = userRepo.findFollowings(user.getId()).size();
-        } catch (Exception e) {
-            followersCount = 0;
-            followingCount = 0;
-        }
-        dto.setFollowersCount(followersCount);
-        dto.setFollowingCount(followingCount);
+        // Maintained on users by every follow/unfollow, see UserServiceImp.onFollowEdgeChanged
+        dto.setFollowersCount(user.getFollowerCount());
+        dto.setFollowingCount(user.getFollowingCount());
 
         return dto;
     }
 
+    public static List<UserProfileDTO> toDtos(List<Users> users, LongUnaryOperator projectLikeCount) {
+        return users.stream().map(user -> toDto(user, projectLikeCount)).collect(Collectors.toList());
+    }
 }
-
-
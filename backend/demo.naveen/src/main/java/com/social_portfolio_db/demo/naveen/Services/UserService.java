@@ -2,16 +2,17 @@ package com.social_portfolio_db.demo.naveen.Services;
 
 
 
-import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 import com.social_portfolio_db.demo.naveen.Dtos.UserProfileDTO;
+import com.social_portfolio_db.demo.naveen.Dtos.UserSearchPage;
 
 public interface UserService {
 
     UserProfileDTO getUserProfile(Long userId);
 
 
-    List<UserProfileDTO> searchUsersBySkillAndName(String skill, String name);
+    UserSearchPage searchUsersBySkillAndName(String skill, String name, Pageable pageable);
 
 
 }
@@ -0,0 +1,48 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-entity-type change counters used as ETags. Entity writes go through
+ * ContentVersionListener; native or bulk JPQL writes must call {@link #bump} themselves.
+ * The boot time is part of every tag so tags from a previous run never match.
+ */
+@Service
+public class ContentVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public void bump(Class<?> entityType) {
+        // Bump only once the change is visible, or a reader could tag old data with the new version
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter(entityType).incrementAndGet();
+                }
+            });
+        } else {
+            counter(entityType).incrementAndGet();
+        }
+    }
+
+    // Read before loading the data the tag describes
+    public String etag(Class<?>... entityTypes) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (Class<?> type : entityTypes) {
+            tag.append('.').append(counter(type).get());
+        }
+        return tag.append('"').toString();
+    }
+
+    private AtomicLong counter(Class<?> entityType) {
+        return versions.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+}
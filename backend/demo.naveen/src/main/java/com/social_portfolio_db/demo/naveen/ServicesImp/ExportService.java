@@ -0,0 +1,89 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.social_portfolio_db.demo.naveen.Utils.StreamingStatements;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Full-table NDJSON dumps for admins and analytics jobs. Rows are read through a
+ * streaming statement (see StreamingStatements; {@code export.fetch-size} applies to
+ * drivers other than MySQL) and each one is written to the output stream as soon as it is
+ * read, so memory use does not grow with the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    public void exportPosts(OutputStream out) {
+        stream(out, "SELECT id, content, created_at, user_id, like_count FROM posts ORDER BY id", rs -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", rs.getLong("id"));
+            row.put("content", rs.getString("content"));
+            row.put("createdAt", rs.getObject("created_at", LocalDateTime.class));
+            row.put("userId", rs.getLong("user_id"));
+            row.put("likeCount", rs.getLong("like_count"));
+            return row;
+        });
+    }
+
+    // Same fields as the admin user list; never the password hash
+    public void exportUsers(OutputStream out) {
+        stream(out, "SELECT id, name, email, bio, location, profile_pic_url, resume_url, created_at FROM users ORDER BY id", rs -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", rs.getLong("id"));
+            row.put("username", rs.getString("name"));
+            row.put("email", rs.getString("email"));
+            row.put("bio", rs.getString("bio"));
+            row.put("location", rs.getString("location"));
+            row.put("profilePicUrl", rs.getString("profile_pic_url"));
+            row.put("resumeUrl", rs.getString("resume_url"));
+            row.put("createdAt", rs.getObject("created_at", LocalDateTime.class));
+            return row;
+        });
+    }
+
+    private interface RowReader {
+        Map<String, Object> read(ResultSet rs) throws SQLException;
+    }
+
+    private void stream(OutputStream response, String sql, RowReader reader) {
+        BufferedOutputStream out = new BufferedOutputStream(response, 64 * 1024);
+        jdbcTemplate.query(
+            con -> StreamingStatements.prepare(con, sql, fetchSize),
+            rs -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(reader.read(rs)));
+                    out.write('\n');
+                } catch (IOException e) {
+                    // Usually the client went away; abort the query instead of reading on
+                    throw new UncheckedIOException(e);
+                }
+            });
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
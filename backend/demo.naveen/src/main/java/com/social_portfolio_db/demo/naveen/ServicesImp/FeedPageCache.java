@@ -0,0 +1,104 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.social_portfolio_db.demo.naveen.Dtos.FeedPage;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Global feed pages rendered once to UTF-8 JSON (plus a gzip copy) and reused for every
+ * viewer. Keyed by cursor and page size; any post create/delete or author change drops
+ * every entry, since a new post shifts all pages after it.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedPageCache {
+
+    public record RenderedPage(byte[] json, byte[] gzip) {}
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${feed.page-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feed.page-cache.max-entries:256}")
+    private int maxEntries;
+
+    // Bumped on invalidation so a page rendered from older data is never stored
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, RenderedPage> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RenderedPage> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RenderedPage get(String cursor, int size, Supplier<FeedPage> loader) {
+        if (!enabled) {
+            return render(loader.get());
+        }
+        String key = size + ":" + (cursor == null ? "" : cursor);
+        synchronized (pages) {
+            RenderedPage cached = pages.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        long renderedAt = generation.get();
+        RenderedPage page = render(loader.get());
+        synchronized (pages) {
+            if (generation.get() == renderedAt) {
+                pages.put(key, page);
+            }
+        }
+        return page;
+    }
+
+    public void invalidate() {
+        synchronized (pages) {
+            generation.incrementAndGet();
+            pages.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (pages) {
+            stats.put("entries", pages.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    private RenderedPage render(FeedPage page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            return new RenderedPage(json, buffer.toByteArray());
+        } catch (IOException e) {
+            throw new RuntimeException("Error rendering feed page", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Entity.Users;
+import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recomputes users.follower_count / following_count from the ACCEPTED friend_requests
+ * edges, {@code users.follow-counts.repair-batch-size} users at a time, and fixes any that
+ * drifted (edges removed with their user, manual SQL, rows that predate the columns).
+ * Runs at startup and every {@code users.follow-counts.repair-interval-ms}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FollowCountRepair {
+
+    private final UserJpa userRepo;
+    private final ContentVersions contentVersions;
+    private final FollowerLeaderboard followerLeaderboard;
+
+    @Value("${users.follow-counts.repair-batch-size:500}")
+    private int batchSize;
+
+    // Returns the number of users whose counters were corrected
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${users.follow-counts.repair-interval-ms:21600000}",
+               initialDelayString = "${users.follow-counts.repair-interval-ms:21600000}")
+    public synchronized int repair() {
+        int repaired = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = userRepo.findFollowCountsAfter(lastId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (Object[] row : batch) {
+                ids.add((Long) row[0]);
+            }
+            Map<Long, int[]> actual = new HashMap<>();
+            for (Object[] row : userRepo.countFollowsByUserIds(ids)) {
+                actual.put(((Number) row[0]).longValue(),
+                    new int[] {((Number) row[1]).intValue(), ((Number) row[2]).intValue()});
+            }
+            for (Object[] row : batch) {
+                Long userId = (Long) row[0];
+                int storedFollowers = (Integer) row[1];
+                int storedFollowing = (Integer) row[2];
+                int[] counts = actual.getOrDefault(userId, new int[] {0, 0});
+                if (counts[0] != storedFollowers || counts[1] != storedFollowing) {
+                    repaired += userRepo.repairFollowCounts(userId, storedFollowers, storedFollowing, counts[0], counts[1]);
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (repaired > 0) {
+            contentVersions.bump(Users.class);
+            followerLeaderboard.rebuild();
+            log.info("Repaired follow counts for {} users", repaired);
+        }
+        return repaired;
+    }
+}
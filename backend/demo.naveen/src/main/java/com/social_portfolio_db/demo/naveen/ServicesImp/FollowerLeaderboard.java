@@ -0,0 +1,177 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Dtos.LeaderboardEntry;
+import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Most-followed users, served from memory. The {@code leaderboard.tracked-users} users with
+ * the most followers are kept in a sorted set and re-ranked whenever a follow edge is added
+ * or removed, so reading a page is O(offset + size) plus one query for the usernames.
+ *
+ * Users who fall out of the set (or never made it in) are no longer watched, so the set also
+ * remembers the highest follower count any untracked user can have. Ranks above that bound
+ * are exact; a page that reaches below it, or past the end of the set, is read from the
+ * follower_count column instead. The set is rebuilt from that column periodically.
+ *
+ * Each read of a count takes a sequence number first. Two refreshes of the same user can
+ * finish their reads in one order and reach the lock in the other, so a count is applied
+ * only if no later read of that user (or a later rebuild) has been applied already.
+ */
+@Service
+@RequiredArgsConstructor
+public class FollowerLeaderboard {
+
+    private final UserJpa userRepo;
+
+    @Value("${leaderboard.tracked-users:1000}")
+    private int trackedUsers;
+
+    private final TreeSet<Ranked> ranking = new TreeSet<>();
+    private final Map<Long, Ranked> byUser = new HashMap<>();
+    // No untracked user has more followers than this (users with none are never tracked)
+    private int untrackedMax;
+    private volatile boolean loaded;
+
+    private final AtomicLong reads = new AtomicLong();
+    // Sequence number of the newest read applied per user since the last rebuild
+    private final Map<Long, Long> appliedReads = new HashMap<>();
+    private long rebuildRead;
+
+    // Re-reads the user's committed follower count; call after the follow change commits.
+    // The read happens before taking the lock so readers never wait on the database.
+    public void refresh(Long userId) {
+        if (!loaded) {
+            return;
+        }
+        long read = reads.incrementAndGet();
+        int followers = userRepo.findFollowerCountById(userId).orElse(0);
+        apply(userId, followers, read);
+    }
+
+    private synchronized void apply(Long userId, int followers, long read) {
+        if (read < rebuildRead || read < appliedReads.getOrDefault(userId, 0L)) {
+            return;
+        }
+        appliedReads.put(userId, read);
+        Ranked current = byUser.remove(userId);
+        if (current != null) {
+            ranking.remove(current);
+        }
+        if (followers <= 0) {
+            return;
+        }
+        Ranked updated = new Ranked(userId, followers);
+        ranking.add(updated);
+        byUser.put(userId, updated);
+        if (ranking.size() > trackedUsers) {
+            Ranked evicted = ranking.pollLast();
+            byUser.remove(evicted.userId());
+            untrackedMax = Math.max(untrackedMax, evicted.followers());
+        }
+    }
+
+    public synchronized void remove(Long userId) {
+        // A refresh that read before the removal must not bring the user back
+        appliedReads.put(userId, reads.incrementAndGet());
+        Ranked current = byUser.remove(userId);
+        if (current != null) {
+            ranking.remove(current);
+        }
+    }
+
+    // Most followed first, ties by id; page is zero-based
+    public List<LeaderboardEntry> page(int page, int size) {
+        List<Ranked> ranked = fromMemory((long) page * size, size);
+        if (ranked == null) {
+            return userRepo.findMostFollowed(PageRequest.of(page, size));
+        }
+        Map<Long, String> names = new HashMap<>();
+        if (!ranked.isEmpty()) {
+            for (Object[] row : userRepo.findUsernamesByIdIn(ranked.stream().map(Ranked::userId).toList())) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            String username = names.get(r.userId());
+            if (username != null) {
+                entries.add(new LeaderboardEntry(r.userId(), username, r.followers()));
+            }
+        }
+        return entries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${leaderboard.rebuild-interval-ms:3600000}",
+               initialDelayString = "${leaderboard.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        rebuildRead = reads.incrementAndGet();
+        appliedReads.clear();
+        // One extra row tells us the best count among users left out
+        List<LeaderboardEntry> rows = userRepo.findMostFollowed(PageRequest.of(0, trackedUsers + 1));
+        ranking.clear();
+        byUser.clear();
+        untrackedMax = 0;
+        for (LeaderboardEntry row : rows) {
+            if (row.followerCount() <= 0) {
+                break;
+            }
+            if (ranking.size() == trackedUsers) {
+                untrackedMax = row.followerCount();
+                break;
+            }
+            Ranked ranked = new Ranked(row.userId(), row.followerCount());
+            ranking.add(ranked);
+            byUser.put(row.userId(), ranked);
+        }
+        loaded = true;
+    }
+
+    // The requested slice of the ranking, or null if memory cannot answer it exactly
+    private synchronized List<Ranked> fromMemory(long offset, int size) {
+        if (!loaded) {
+            return null;
+        }
+        List<Ranked> slice = new ArrayList<>(size);
+        Iterator<Ranked> it = ranking.iterator();
+        for (long i = 0; i < offset + size; i++) {
+            if (!it.hasNext()) {
+                // Past the end: the rest are untracked users, including those with no followers
+                return null;
+            }
+            Ranked next = it.next();
+            if (next.followers() <= untrackedMax) {
+                return null;
+            }
+            if (i >= offset) {
+                slice.add(next);
+            }
+        }
+        return slice;
+    }
+
+    private record Ranked(Long userId, int followers) implements Comparable<Ranked> {
+        @Override
+        public int compareTo(Ranked other) {
+            int byFollowers = Integer.compare(other.followers, followers);
+            return byFollowers != 0 ? byFollowers : userId.compareTo(other.userId);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Dtos.UserCard;
+import com.social_portfolio_db.demo.naveen.Dtos.UserSuggestion;
+import com.social_portfolio_db.demo.naveen.Jpa.SkillRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+import com.social_portfolio_db.demo.naveen.Utils.LongIntCounter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * "People you may know": users followed by the people a user follows, ranked by how many of
+ * those followings lead to them plus {@code suggestions.skill-weight} per skill in common.
+ *
+ * The walk runs on SocialGraph with a primitive counter, touching at most
+ * {@code suggestions.max-walk-edges} edges. Only the best {@code suggestions.candidate-pool}
+ * candidates by mutual count are scored for skills, which costs one query; the results are
+ * hydrated with one more and cached per user for {@code suggestions.cache-ttl-seconds}.
+ */
+@Service
+@RequiredArgsConstructor
+public class FriendSuggestionService {
+
+    private final SocialGraph socialGraph;
+    private final SkillRepository skillRepo;
+    private final UserJpa userRepo;
+
+    @Value("${suggestions.max-results:50}")
+    private int maxResults;
+
+    @Value("${suggestions.candidate-pool:200}")
+    private int candidatePool;
+
+    @Value("${suggestions.max-walk-edges:200000}")
+    private int maxWalkEdges;
+
+    @Value("${suggestions.skill-weight:0.5}")
+    private double skillWeight;
+
+    @Value("${suggestions.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    @Value("${suggestions.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private final Map<Long, Cached> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+            return size() > cacheMaxEntries;
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public List<UserSuggestion> suggest(long userId, int limit) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            Cached cached = cache.get(userId);
+            if (cached != null && cached.expiresAt() > now) {
+                hits.incrementAndGet();
+                return cached.suggestions().subList(0, Math.min(limit, cached.suggestions().size()));
+            }
+        }
+        misses.incrementAndGet();
+        if (!socialGraph.isLoaded()) {
+            return List.of();
+        }
+        List<UserSuggestion> suggestions = compute(userId);
+        synchronized (cache) {
+            cache.put(userId, new Cached(suggestions, now + cacheTtlSeconds * 1000));
+        }
+        return suggestions.subList(0, Math.min(limit, suggestions.size()));
+    }
+
+    // Drops the user's cached suggestions, e.g. after they follow or unfollow someone
+    public void invalidate(long userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (cache) {
+            stats.put("cachedUsers", cache.size());
+        }
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    List<UserSuggestion> compute(long userId) {
+        long[] following = socialGraph.followingIds(userId);
+        LongIntCounter mutuals = new LongIntCounter(Math.min(following.length * 16, 1 << 16));
+        int[] budget = {maxWalkEdges};
+        for (long friend : following) {
+            if (budget[0] <= 0) {
+                break;
+            }
+            socialGraph.readFollowing(friend, (ids, from, to) -> {
+                int end = Math.min(to, from + budget[0]);
+                budget[0] -= end - from;
+                for (int i = from; i < end; i++) {
+                    long candidate = ids[i];
+                    if (candidate != userId && Arrays.binarySearch(following, candidate) < 0) {
+                        mutuals.increment(candidate);
+                    }
+                }
+                return null;
+            });
+        }
+        if (mutuals.size() == 0) {
+            return List.of();
+        }
+
+        long[] pool = topByCount(mutuals, candidatePool);
+        Map<Long, Integer> shared = sharedSkills(userId, pool);
+        List<Scored> scored = new ArrayList<>(pool.length);
+        for (long candidate : pool) {
+            int mutual = mutuals.get(candidate);
+            int skills = shared.getOrDefault(candidate, 0);
+            scored.add(new Scored(candidate, mutual, skills, mutual + skillWeight * skills));
+        }
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed()
+            .thenComparing(Comparator.comparingInt(Scored::mutuals).reversed())
+            .thenComparingLong(Scored::userId));
+        List<Scored> best = scored.subList(0, Math.min(maxResults, scored.size()));
+
+        Map<Long, UserCard> cards = new HashMap<>();
+        for (UserCard card : userRepo.findCardsByIdIn(best.stream().map(Scored::userId).toList())) {
+            cards.put(card.id(), card);
+        }
+        List<UserSuggestion> suggestions = new ArrayList<>(best.size());
+        for (Scored s : best) {
+            UserCard card = cards.get(s.userId());
+            if (card != null) {
+                suggestions.add(new UserSuggestion(card, s.mutuals(), s.sharedSkills()));
+            }
+        }
+        return suggestions;
+    }
+
+    // The `size` keys with the highest counts. Each (count, slot) pair is packed into one
+    // long so the sort stays primitive; equal counts come out in slot order.
+    private static long[] topByCount(LongIntCounter counter, int size) {
+        long[] keys = new long[counter.size()];
+        long[] packed = new long[counter.size()];
+        int[] n = {0};
+        counter.forEach((key, count) -> {
+            keys[n[0]] = key;
+            packed[n[0]] = ((long) (Integer.MAX_VALUE - count) << 32) | n[0];
+            n[0]++;
+        });
+        Arrays.sort(packed);
+        long[] top = new long[Math.min(size, keys.length)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = keys[(int) packed[i]];
+        }
+        return top;
+    }
+
+    // candidate id -> number of the user's skills (case-insensitive) the candidate also has
+    private Map<Long, Integer> sharedSkills(long userId, long[] candidates) {
+        List<Long> ids = new ArrayList<>(candidates.length + 1);
+        ids.add(userId);
+        for (long candidate : candidates) {
+            ids.add(candidate);
+        }
+        Map<Long, Set<String>> skills = new HashMap<>();
+        for (Object[] row : skillRepo.findSkillNamesByUserIds(ids)) {
+            if (row[1] != null) {
+                skills.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add(((String) row[1]).toLowerCase(Locale.ROOT));
+            }
+        }
+        Set<String> mine = skills.getOrDefault(userId, Set.of());
+        Map<Long, Integer> shared = new HashMap<>();
+        if (mine.isEmpty()) {
+            return shared;
+        }
+        for (long candidate : candidates) {
+            int common = 0;
+            for (String skill : skills.getOrDefault(candidate, Set.of())) {
+                if (mine.contains(skill)) {
+                    common++;
+                }
+            }
+            if (common > 0) {
+                shared.put(candidate, common);
+            }
+        }
+        return shared;
+    }
+
+    private record Scored(long userId, int mutuals, int sharedSkills, double score) {}
+
+    private record Cached(List<UserSuggestion> suggestions, long expiresAt) {}
+}
@@ -0,0 +1,157 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Dtos.PostView;
+import com.social_portfolio_db.demo.naveen.Utils.FeedCursor;
+import com.social_portfolio_db.demo.naveen.Utils.PostRingBuffer;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The newest {@code feed.hot-cache.capacity} posts of the global feed, held as ready-to-serialize
+ * {@link PostView}s so the first pages never touch the database. PostFeedService loads it and
+ * keeps it current from the create/delete paths; anything it cannot answer is a miss.
+ */
+@Service
+public class HotFeedCache {
+
+    @Value("${feed.hot-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feed.hot-cache.capacity:2000}")
+    private int capacity;
+
+    private PostRingBuffer ring;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean loaded;
+    // Bumped on every change so a load that raced with a write is thrown away
+    private long version;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        ring = new PostRingBuffer(Math.max(capacity, 1));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int capacity() {
+        return ring.capacity();
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Call before reading the rows for load(), and pass the result back in
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean load(List<PostView> newestFirst, boolean complete, long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            if (version != expectedVersion) {
+                return false;
+            }
+            ring.reset(newestFirst, complete);
+            loaded = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Null on a miss; the caller then reads the page from the database
+    public List<PostView> page(FeedCursor after, int limit) {
+        List<PostView> result = null;
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                result = ring.page(after, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        (result != null ? hits : misses).incrementAndGet();
+        return result;
+    }
+
+    public void insert(PostView post) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            if (loaded) {
+                ring.insert(post);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            if (loaded) {
+                ring.remove(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Author fields are embedded in every cached post, so a profile change drops the buffer
+    public void invalidateAuthor(Long userId) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            if (loaded && ring.containsAuthor(userId)) {
+                loaded = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("loaded", isLoaded());
+        lock.readLock().lock();
+        try {
+            stats.put("size", ring.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("capacity", ring.capacity());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+}
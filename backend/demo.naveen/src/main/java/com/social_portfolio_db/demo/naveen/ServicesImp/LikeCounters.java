@@ -0,0 +1,154 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Entity.ProfileLike;
+import com.social_portfolio_db.demo.naveen.Entity.ProjectsLike;
+import com.social_portfolio_db.demo.naveen.Jpa.ProfileLikeRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.ProjectsLikeRepository;
+import com.social_portfolio_db.demo.naveen.Utils.StripedCounterMap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory like counts per project and per liked user, so DTOs and count endpoints read
+ * them in O(1) instead of counting rows. LikeService runs every like/unlike through
+ * {@link #changeProject}/{@link #changeProfile}, which apply the delta when a row changed.
+ * They are seeded from GROUP BY counts at startup (reads count in the database until then)
+ * and reconciled the same way every {@code likes.counters.reconcile-interval-ms}.
+ *
+ * A like commits its row before its +1 lands, so a reconcile in between would see the row,
+ * set the counter to include it, and then get the +1 on top. Keys with a like/unlike in
+ * flight are therefore skipped by reconcile and left for the next run.
+ *
+ * Responses tagged with {@link ContentVersions} read these counts, so the like entity's version
+ * is bumped after every counter change (including repairs), never only when the row commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LikeCounters {
+
+    private final ProjectsLikeRepository projectsLikeRepo;
+    private final ProfileLikeRepository profileLikeRepo;
+    private final ContentVersions contentVersions;
+
+    private final StripedCounterMap projects = new StripedCounterMap();
+    private final StripedCounterMap profiles = new StripedCounterMap();
+    // Likes/unlikes running per key, from before their write until their delta is applied
+    private final Map<Long, Integer> projectWrites = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> profileWrites = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile int lastRepaired;
+
+    public long projectLikes(long projectId) {
+        return loaded ? projects.get(projectId) : projectsLikeRepo.countByProjectId(projectId);
+    }
+
+    public long profileLikes(long likedUserId) {
+        return loaded ? profiles.get(likedUserId) : profileLikeRepo.countByLikedUserId(likedUserId);
+    }
+
+    // Runs the write and adds delta to the project's count if it returns true
+    public boolean changeProject(long projectId, int delta, BooleanSupplier write) {
+        return change(projects, projectWrites, ProjectsLike.class, projectId, delta, write);
+    }
+
+    // Runs the write and adds delta to the liked user's count if it returns true
+    public boolean changeProfile(long likedUserId, int delta, BooleanSupplier write) {
+        return change(profiles, profileWrites, ProfileLike.class, likedUserId, delta, write);
+    }
+
+    // Returns the number of counters corrected
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${likes.counters.reconcile-interval-ms:600000}",
+               initialDelayString = "${likes.counters.reconcile-interval-ms:600000}")
+    public synchronized int reconcile() {
+        int repaired = reconcile(projects, projectWrites, ProjectsLike.class,
+                projectsLikeRepo::countLikesByProject, projectsLikeRepo::countByProjectId)
+            + reconcile(profiles, profileWrites, ProfileLike.class,
+                profileLikeRepo::countLikesByLikedUser, profileLikeRepo::countByLikedUserId);
+        if (loaded && repaired > 0) {
+            log.warn("Repaired {} project/profile like counters", repaired);
+        }
+        loaded = true;
+        lastRepaired = repaired;
+        return repaired;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("projects", projects.size());
+        stats.put("profiles", profiles.size());
+        stats.put("lastRepaired", lastRepaired);
+        return stats;
+    }
+
+    private boolean change(StripedCounterMap counters, Map<Long, Integer> writes, Class<?> entityType,
+                           long key, int delta, BooleanSupplier write) {
+        writes.merge(key, 1, Integer::sum);
+        try {
+            if (!write.getAsBoolean()) {
+                return false;
+            }
+            counters.add(key, delta);
+            // The row's own commit bumped the version before the count moved; tag the new count
+            contentVersions.bump(entityType);
+            return true;
+        } finally {
+            writes.computeIfPresent(key, (k, running) -> running == 1 ? null : running - 1);
+        }
+    }
+
+    private int reconcile(StripedCounterMap counters, Map<Long, Integer> writes, Class<?> entityType,
+                          Supplier<List<Object[]>> groupCounts, LongUnaryOperator countOne) {
+        Map<Long, Long> before = counters.snapshot();
+        Map<Long, Long> actual = new HashMap<>();
+        for (Object[] row : groupCounts.get()) {
+            actual.put((Long) row[0], (Long) row[1]);
+        }
+        Map<Long, Long> after = counters.snapshot();
+
+        Set<Long> keys = new HashSet<>(actual.keySet());
+        keys.addAll(before.keySet());
+        keys.addAll(after.keySet());
+        int repaired = 0;
+        for (Long key : keys) {
+            long current = after.getOrDefault(key, 0L);
+            long expected = actual.getOrDefault(key, 0L);
+            if (current != before.getOrDefault(key, 0L)) {
+                // Liked or unliked while the table was being counted; count this one again
+                current = counters.get(key);
+                expected = countOne.applyAsLong(key);
+            }
+            // A like/unlike in flight may be counted in `expected` but not yet in `current`
+            if (current == expected || writes.containsKey(key)) {
+                continue;
+            }
+            // Only overwrite if no like/unlike landed since `current` was read
+            if (counters.replace(key, current, expected)) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            contentVersions.bump(entityType);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,195 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Utils.ScalableBloomFilter;
+import com.social_portfolio_db.demo.naveen.Utils.StreamingStatements;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory Bloom filters of (user, target) like pairs, one per like table, so "has this
+ * user liked X" can answer the common "no" without a query. A filter hit still goes to the
+ * database, so a false positive only costs the query the check would have made anyway.
+ *
+ * Unlikes leave their bits set, so the filters are rebuilt from the tables at startup and
+ * every {@code likes.bloom.rebuild-interval-ms}. Until the first build finishes every check
+ * goes to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LikeFilter {
+
+    public enum Target {
+        POST("SELECT user_id, post_id FROM post_likes", "SELECT COUNT(*) FROM post_likes"),
+        PROJECT("SELECT user_id, project_id FROM project_likes", "SELECT COUNT(*) FROM project_likes"),
+        PROFILE("SELECT liked_by_user_id, liked_user_id FROM profile_likes", "SELECT COUNT(*) FROM profile_likes");
+
+        private final String pairsSql;
+        private final String countSql;
+
+        Target(String pairsSql, String countSql) {
+            this.pairsSql = pairsSql;
+            this.countSql = countSql;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${likes.bloom.min-capacity:100000}")
+    private long minCapacity;
+
+    @Value("${likes.bloom.fpp:0.01}")
+    private double fpp;
+
+    @Value("${likes.bloom.fetch-size:1000}")
+    private int fetchSize;
+
+    private final Map<Target, State> states = new EnumMap<>(Target.class);
+    {
+        for (Target target : Target.values()) {
+            states.put(target, new State());
+        }
+    }
+
+    /**
+     * Answers a like check, consulting {@code database} only when the filter cannot rule the
+     * pair out.
+     */
+    public boolean check(Target target, long userId, long targetId, BooleanSupplier database) {
+        State state = states.get(target);
+        ScalableBloomFilter filter = state.live;
+        if (filter == null) {
+            return database.getAsBoolean();
+        }
+        if (!filter.mightContain(key(userId, targetId))) {
+            state.definiteNegatives.increment();
+            return false;
+        }
+        boolean liked = database.getAsBoolean();
+        (liked ? state.truePositives : state.falsePositives).increment();
+        return liked;
+    }
+
+    /**
+     * Records a like and runs its insert. The pair is added first so no check can miss a
+     * committed like; holding the read lock across the insert keeps a rebuild from starting
+     * its table scan while the insert is still in flight.
+     */
+    public <T> T recordLike(Target target, long userId, long targetId, Supplier<T> insert) {
+        State state = states.get(target);
+        long key = key(userId, targetId);
+        state.lock.readLock().lock();
+        try {
+            ScalableBloomFilter live = state.live;
+            ScalableBloomFilter building = state.building;
+            if (live != null) {
+                live.add(key);
+            }
+            if (building != null) {
+                building.add(key);
+            }
+            return insert.get();
+        } finally {
+            state.lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${likes.bloom.rebuild-interval-ms:21600000}",
+               initialDelayString = "${likes.bloom.rebuild-interval-ms:21600000}")
+    public void rebuildAll() {
+        for (Target target : Target.values()) {
+            rebuild(target);
+        }
+    }
+
+    public synchronized void rebuild(Target target) {
+        State state = states.get(target);
+        long started = System.currentTimeMillis();
+        try {
+            Long rows = jdbcTemplate.queryForObject(target.countSql, Long.class);
+            ScalableBloomFilter next = new ScalableBloomFilter(Math.max(minCapacity, (rows == null ? 0 : rows) * 2), fpp);
+            // Waits out in-flight likes; any like recorded after this also lands in `next`
+            state.lock.writeLock().lock();
+            try {
+                state.building = next;
+            } finally {
+                state.lock.writeLock().unlock();
+            }
+            jdbcTemplate.query(
+                con -> StreamingStatements.prepare(con, target.pairsSql, fetchSize),
+                rs -> {
+                    next.add(key(rs.getLong(1), rs.getLong(2)));
+                });
+            state.live = next;
+            state.resetCounters();
+            log.info("Built {} like filter: {} pairs, {} KB in {} ms", target, next.size(),
+                next.bitCount() / 8 / 1024, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.warn("Could not build {} like filter; keeping the previous one", target, e);
+        } finally {
+            state.building = null;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Target target : Target.values()) {
+            State state = states.get(target);
+            ScalableBloomFilter filter = state.live;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("loaded", filter != null);
+            if (filter != null) {
+                entry.put("pairs", filter.size());
+                entry.put("stages", filter.stageCount());
+                entry.put("memoryBytes", filter.bitCount() / 8);
+                entry.put("estimatedFalsePositiveRate", filter.estimatedFpp());
+            }
+            long negatives = state.definiteNegatives.sum();
+            long falsePositives = state.falsePositives.sum();
+            entry.put("definiteNegatives", negatives);
+            entry.put("truePositives", state.truePositives.sum());
+            entry.put("falsePositives", falsePositives);
+            // Share of pairs that were not liked but still reached the database
+            entry.put("observedFalsePositiveRate",
+                negatives + falsePositives == 0 ? 0.0 : (double) falsePositives / (negatives + falsePositives));
+            stats.put(target.name().toLowerCase(), entry);
+        }
+        return stats;
+    }
+
+    private static long key(long userId, long targetId) {
+        return userId * 0x9E3779B97F4A7C15L + targetId;
+    }
+
+    private static final class State {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        volatile ScalableBloomFilter live;
+        volatile ScalableBloomFilter building;
+        final LongAdder definiteNegatives = new LongAdder();
+        final LongAdder truePositives = new LongAdder();
+        final LongAdder falsePositives = new LongAdder();
+
+        void resetCounters() {
+            definiteNegatives.reset();
+            truePositives.reset();
+            falsePositives.reset();
+        }
+    }
+}
@@ -1,22 +1,28 @@
 package com.social_portfolio_db.demo.naveen.ServicesImp;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import com.social_portfolio_db.demo.naveen.Dtos.LikeSummary;
 import com.social_portfolio_db.demo.naveen.Entity.ProfileLike;
 import com.social_portfolio_db.demo.naveen.Entity.Projects;
 import com.social_portfolio_db.demo.naveen.Entity.ProjectsLike;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
 import com.social_portfolio_db.demo.naveen.Entity.Post;
-import com.social_portfolio_db.demo.naveen.Entity.Notification;
 import com.social_portfolio_db.demo.naveen.Jpa.ProfileLikeRepository;
 import com.social_portfolio_db.demo.naveen.Jpa.ProjectsLikeRepository;
 import com.social_portfolio_db.demo.naveen.Jpa.ProjectsRepository;
 import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
 import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
-import com.social_portfolio_db.demo.naveen.Jpa.NotificationRepository;
 
 import lombok.RequiredArgsConstructor;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.time.LocalDateTime;
 
 @Service
@@ -28,109 +34,139 @@ public class LikeService {
     private final UserJpa userRepo;
     private final ProjectsRepository projectRepo;
     private final PostRepository postRepo;
-    private final NotificationRepository notificationRepo;
-
-    public void likeProject(Long userId, Long projectId) {
-        if (!projectsLikeRepo.existsByUserIdAndProjectId(userId, projectId)) {
-            Projects project = projectRepo.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
-
-            Users user = userRepo.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-            ProjectsLike like = new ProjectsLike();
-            like.setProject(project);
-            like.setUser(user);
-            projectsLikeRepo.save(like);
+    private final NotificationQueue notificationQueue;
+    private final PostLikeCounter postLikeCounter;
+    private final TrendingService trendingService;
+    private final LikeFilter likeFilter;
+    private final LikeCounters likeCounters;
+
+    // Inserts the like unless it already exists and returns whether this call created it. The
+    // unique key on (user, project) settles concurrent requests: the losing insert fails and
+    // is treated as "already liked".
+    public boolean likeProject(Long userId, Long projectId) {
+        if (!projectRepo.existsById(projectId)) {
+            throw new RuntimeException("Project not found");
         }
+        if (!userRepo.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        ProjectsLike like = new ProjectsLike();
+        like.setProject(projectRepo.getReferenceById(projectId));
+        like.setUser(userRepo.getReferenceById(userId));
+        return likeCounters.changeProject(projectId, 1, () ->
+            likeFilter.recordLike(LikeFilter.Target.PROJECT, userId, projectId, () -> {
+                try {
+                    projectsLikeRepo.saveAndFlush(like);
+                    return true;
+                } catch (DataIntegrityViolationException e) {
+                    return false;
+                }
+            }));
     }
 
-    public void likeProfile(Long likedById, Long likedUserId) {
-        if (!profileLikeRepo.existsByLikedByIdAndLikedUserId(likedById, likedUserId)) {
-            Users likedBy = userRepo.findById(likedById).orElseThrow();
-            Users likedUser = userRepo.findById(likedUserId).orElseThrow();
-
-            ProfileLike like = new ProfileLike();
-            like.setLikedBy(likedBy);
-            like.setLikedUser(likedUser);
-            profileLikeRepo.save(like);
+    public boolean likeProfile(Long likedById, Long likedUserId) {
+        if (!userRepo.existsById(likedById) || !userRepo.existsById(likedUserId)) {
+            throw new RuntimeException("User not found");
         }
+        ProfileLike like = new ProfileLike();
+        like.setLikedBy(userRepo.getReferenceById(likedById));
+        like.setLikedUser(userRepo.getReferenceById(likedUserId));
+        return likeCounters.changeProfile(likedUserId, 1, () ->
+            likeFilter.recordLike(LikeFilter.Target.PROFILE, likedById, likedUserId, () -> {
+                try {
+                    profileLikeRepo.saveAndFlush(like);
+                    return true;
+                } catch (DataIntegrityViolationException e) {
+                    return false;
+                }
+            }));
     }
 
     public long getProjectLikeCount(Long projectId) {
-        return projectsLikeRepo.countByProjectId(projectId);
+        return likeCounters.projectLikes(projectId);
     }
 
     public long getProfileLikeCount(Long userId) {
-        return profileLikeRepo.countByLikedUserId(userId);
+        return likeCounters.profileLikes(userId);
     }
 
     public void likePost(Long userId, Long postId) {
-        if (!hasUserLikedPost(userId, postId)) {
-            Post post = postRepo.findById(postId).orElseThrow(() -> new RuntimeException("Post not found"));
-            Users user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-            post.getLikedBy().add(user);
-            user.getLikedPosts().add(post);
-            postRepo.save(post);
-            userRepo.save(user);
+        Post post = postRepo.findById(postId).orElseThrow(() -> new RuntimeException("Post not found"));
+        Users user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        // Insert the join row directly instead of saving both sides of the association
+        LocalDateTime likedAt = LocalDateTime.now();
+        if (postLikeCounter.change(postId, 1, () ->
+                likeFilter.recordLike(LikeFilter.Target.POST, userId, postId, () -> postRepo.insertLike(postId, userId, likedAt)) == 1)) {
+            trendingService.onLike(postId, likedAt);
             // Notification
             if (!Objects.equals(user.getId(), post.getUser().getId())) {
-                Notification notif = Notification.builder()
-                    .user(post.getUser())
-                    .message(user.getUsername() + " liked your post.")
-                    .type("LIKE")
-                    .createdAt(LocalDateTime.now())
-                    .read(false)
-                    .build();
-                notificationRepo.save(notif);
+                notificationQueue.send(post.getUser().getId(), user.getUsername() + " liked your post.", "LIKE");
             }
         }
     }
 
     public void unlikePost(Long userId, Long postId) {
-        Post post = postRepo.findById(postId).orElseThrow(() -> new RuntimeException("Post not found"));
-        Users user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        if (post.getLikedBy().contains(user)) {
-            post.getLikedBy().remove(user);
-            user.getLikedPosts().remove(post);
-            postRepo.save(post);
-            userRepo.save(user);
+        if (!postRepo.existsById(postId)) {
+            throw new RuntimeException("Post not found");
+        }
+        if (!userRepo.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        LocalDateTime likedAt = postRepo.findLikedAt(postId, userId).orElse(null);
+        if (postLikeCounter.change(postId, -1, () -> postRepo.deleteLike(postId, userId) == 1)) {
+            trendingService.onUnlike(postId, likedAt);
         }
     }
 
     public long getPostLikeCount(Long postId) {
-        return postRepo.findById(postId).map(p -> (long) p.getLikedBy().size()).orElse(0L);
+        return postLikeCounter.getCount(postId);
     }
 
     public boolean hasUserLikedPost(Long userId, Long postId) {
-        return postRepo.existsByLikedBy_IdAndId(userId, postId);
+        return likeFilter.check(LikeFilter.Target.POST, userId, postId,
+            () -> postRepo.existsByLikedBy_IdAndId(userId, postId));
     }
 
-    public void unlikeProject(Long userId, Long projectId) {
-        Projects project = projectRepo.findById(projectId).orElseThrow(() -> new RuntimeException("Project not found"));
-        Users user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        projectsLikeRepo.findAll().stream()
-            .filter(like -> Long.valueOf(like.getUser().getId()).equals(userId) && Long.valueOf(like.getProject().getId()).equals(projectId))
-            .findFirst()
-            .ifPresent(projectsLikeRepo::delete);
+    // Returns whether a like was removed
+    public boolean unlikeProject(Long userId, Long projectId) {
+        // Bulk deletes skip the entity listener; LikeCounters bumps the ProjectsLike version
+        return likeCounters.changeProject(projectId, -1, () -> projectsLikeRepo.deleteByKey(userId, projectId) > 0);
+    }
+
+    // Counts and like flags for a list of posts with one query; unknown ids are left out
+    public List<LikeSummary> getPostLikeSummaries(Collection<Long> postIds, Long userId) {
+        Map<Long, LikeSummary> byId = new HashMap<>();
+        for (Object[] row : postRepo.findLikeSummaries(postIds, userId)) {
+            Long postId = ((Number) row[0]).longValue();
+            long count = Math.max(0, ((Number) row[1]).longValue() + postLikeCounter.pendingDelta(postId));
+            byId.put(postId, new LikeSummary(postId, count, ((Number) row[2]).longValue() > 0));
+        }
+        return postIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // Counts come from LikeCounters; one query finds which of the projects the user liked
+    public List<LikeSummary> getProjectLikeSummaries(Collection<Long> projectIds, Long userId) {
+        Set<Long> liked = new HashSet<>(projectsLikeRepo.findLikedProjectIds(userId, projectIds));
+        return projectIds.stream()
+            .map(id -> new LikeSummary(id, likeCounters.projectLikes(id), liked.contains(id)))
+            .toList();
     }
 
     public boolean hasUserLikedProject(Long userId, Long projectId) {
-        return projectsLikeRepo.existsByUserIdAndProjectId(userId, projectId);
+        return likeFilter.check(LikeFilter.Target.PROJECT, userId, projectId,
+            () -> projectsLikeRepo.existsByUserIdAndProjectId(userId, projectId));
     }
 
     public UserJpa getUserRepo() {
         return userRepo;
     }
 
-    public void unlikeProfile(Long likedById, Long likedUserId) {
-        profileLikeRepo.findAll().stream()
-            .filter(like -> like.getLikedBy().getId() == likedById && like.getLikedUser().getId() == likedUserId)
-            .findFirst()
-            .ifPresent(profileLikeRepo::delete);
+    public boolean unlikeProfile(Long likedById, Long likedUserId) {
+        return likeCounters.changeProfile(likedUserId, -1, () -> profileLikeRepo.deleteByKey(likedById, likedUserId) > 0);
     }
 
     public boolean hasUserLikedProfile(Long likedById, Long likedUserId) {
-        return profileLikeRepo.existsByLikedByIdAndLikedUserId(likedById, likedUserId);
+        return likeFilter.check(LikeFilter.Target.PROFILE, likedById, likedUserId,
+            () -> profileLikeRepo.existsByLikedByIdAndLikedUserId(likedById, likedUserId));
     }
 }
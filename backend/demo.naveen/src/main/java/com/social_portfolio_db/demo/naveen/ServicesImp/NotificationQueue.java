@@ -0,0 +1,189 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes notifications off the request thread. {@link #send} puts the notification on a
+ * bounded queue once the caller's transaction commits; a single worker takes up to
+ * {@code notifications.queue.batch-size} of them, waiting at most
+ * {@code notifications.queue.linger-ms} for a batch to fill, and inserts them in one JDBC batch.
+ *
+ * When the queue is full the caller inserts its own notification, so producers slow down to
+ * the database's pace instead of dropping anything. On shutdown the worker finishes whatever
+ * is queued before the data source goes away.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationQueue {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (user_id, message, type, created_at, `read`) VALUES (?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.queue.capacity:10000}")
+    private int capacity;
+
+    @Value("${notifications.queue.batch-size:200}")
+    private int batchSize;
+
+    @Value("${notifications.queue.linger-ms:50}")
+    private long lingerMs;
+
+    @Value("${notifications.queue.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<Pending> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        running = true;
+        worker = new Thread(this::drainLoop, "notification-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void send(Long userId, String message, String type) {
+        Pending notification = new Pending(userId, message, type, LocalDateTime.now());
+        // A rolled-back action must not leave a notification behind
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(notification);
+                }
+            });
+        } else {
+            enqueue(notification);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("capacity", Math.max(capacity, 1));
+        stats.put("accepted", accepted.get());
+        stats.put("callerRuns", callerRuns.get());
+        stats.put("written", written.get());
+        stats.put("batches", batches.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void enqueue(Pending notification) {
+        if (running && queue.offer(notification)) {
+            accepted.incrementAndGet();
+            return;
+        }
+        // Full (or shutting down): the caller pays for its own insert
+        callerRuns.incrementAndGet();
+        write(List.of(notification));
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) {
+                        break;
+                    }
+                    Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Only stop() interrupts, and only after running is cleared; write what we have
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Pending n : batch) {
+            args.add(new Object[] { n.userId(), n.message(), n.type(), Timestamp.valueOf(n.createdAt()) });
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed.incrementAndGet();
+                log.warn("Failed to write notification for user {}", batch.get(0).userId(), e);
+                return;
+            }
+            // One bad row (e.g. a user deleted meanwhile) fails the whole batch; retry row by row
+            for (Pending n : batch) {
+                write(List.of(n));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Notification writer did not finish within {} ms", shutdownTimeoutMs);
+            worker.interrupt();
+            return;
+        }
+        // Anything offered between the worker's last check and running being cleared
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+
+    private record Pending(Long userId, String message, String type, LocalDateTime createdAt) {}
+}
@@ -0,0 +1,227 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Dtos.FeedPage;
+import com.social_portfolio_db.demo.naveen.Dtos.PostRow;
+import com.social_portfolio_db.demo.naveen.Dtos.PostSearchPage;
+import com.social_portfolio_db.demo.naveen.Dtos.PostView;
+import com.social_portfolio_db.demo.naveen.Dtos.TimelineEntry;
+import com.social_portfolio_db.demo.naveen.Entity.Post;
+import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.SkillRepository;
+import com.social_portfolio_db.demo.naveen.Utils.FeedCursor;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class PostFeedService {
+
+    private final PostRepository postRepo;
+    private final SkillRepository skillRepo;
+    private final TimelineService timelineService;
+    private final HotFeedCache hotFeed;
+    private final FeedPageCache feedPageCache;
+    private final PostSearchIndex searchIndex;
+    private final TrendingService trendingService;
+
+    @Value("${feed.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${feed.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${search.max-result-window:1000}")
+    private int maxResultWindow;
+
+    @Value("${trending.size:20}")
+    private int trendingSize;
+
+    // Global feed, newest first. Reads at most size + 1 rows to know whether another page exists.
+    public FeedPage getGlobalFeed(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        FeedCursor after = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+
+        if (hotFeed.isEnabled()) {
+            if (!hotFeed.isLoaded()) {
+                loadHotFeed();
+            }
+            List<PostView> cached = hotFeed.page(after, pageSize + 1);
+            if (cached != null) {
+                String nextCursor = null;
+                if (cached.size() > pageSize) {
+                    cached = cached.subList(0, pageSize);
+                    PostView last = cached.get(pageSize - 1);
+                    nextCursor = new FeedCursor(last.createdAt(), last.id()).encode();
+                }
+                return new FeedPage(cached, nextCursor);
+            }
+        }
+
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<PostRow> rows = after == null
+            ? postRepo.findFeedRows(limit)
+            : postRepo.findFeedRowsAfter(after.createdAt(), after.id(), limit);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            PostRow last = rows.get(pageSize - 1);
+            nextCursor = new FeedCursor(last.createdAt(), last.id()).encode();
+        }
+        return new FeedPage(toViews(rows), nextCursor);
+    }
+
+    // Same page as getGlobalFeed, already serialized and shared between viewers
+    public FeedPageCache.RenderedPage getRenderedGlobalFeed(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        return feedPageCache.get(cursor, pageSize, () -> getGlobalFeed(cursor, pageSize));
+    }
+
+    public List<PostView> getPostsByAuthor(Long userId) {
+        return toViews(postRepo.findRowsByUserId(userId));
+    }
+
+    // Posts from the accounts this user follows, newest first
+    public FeedPage getHomeTimeline(Long userId, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        FeedCursor after = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+        List<TimelineEntry> entries = timelineService.page(userId, after, pageSize);
+
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            TimelineEntry last = entries.get(pageSize - 1);
+            nextCursor = new FeedCursor(last.createdAt(), last.postId()).encode();
+        }
+        if (entries.isEmpty()) {
+            return new FeedPage(List.of(), null);
+        }
+
+        Map<Long, PostRow> byId = postRepo.findRowsByIdIn(entries.stream().map(TimelineEntry::postId).toList())
+            .stream()
+            .collect(Collectors.toMap(PostRow::id, Function.identity()));
+        // Posts deleted since they were fanned out are simply skipped
+        List<PostRow> rows = entries.stream()
+            .map(entry -> byId.get(entry.postId()))
+            .filter(Objects::nonNull)
+            .toList();
+        return new FeedPage(toViews(rows), nextCursor);
+    }
+
+    // Full-text search over post content; page is zero-based
+    public PostSearchPage searchPosts(String query, Integer page, Integer size) {
+        int pageSize = resolvePageSize(size);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        if ((pageNumber + 1L) * pageSize > maxResultWindow) {
+            throw new IllegalArgumentException("Search only returns the first " + maxResultWindow + " matches");
+        }
+        PostSearchIndex.Result result = searchIndex.search(query, pageNumber, pageSize);
+        if (result.postIds().isEmpty()) {
+            return new PostSearchPage(List.of(), result.total(), pageNumber, pageSize);
+        }
+
+        Map<Long, PostRow> byId = postRepo.findRowsByIdIn(result.postIds()).stream()
+            .collect(Collectors.toMap(PostRow::id, Function.identity()));
+        List<PostRow> rows = new ArrayList<>(byId.size());
+        for (Long postId : result.postIds()) {
+            PostRow row = byId.get(postId);
+            if (row != null) {
+                rows.add(row);
+            } else {
+                // Deleted without going through onPostDeleted (e.g. with its author)
+                searchIndex.remove(postId);
+            }
+        }
+        return new PostSearchPage(toViews(rows), result.total(), pageNumber, pageSize);
+    }
+
+    // Most-liked posts right now, with older likes counting for less
+    public List<PostView> getTrending(Integer limit) {
+        int count = limit == null || limit <= 0 ? trendingSize : Math.min(limit, maxPageSize);
+        List<Long> ids = trendingService.top(count);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostRow> byId = postRepo.findRowsByIdIn(ids).stream()
+            .collect(Collectors.toMap(PostRow::id, Function.identity()));
+        return toViews(ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
+    public void onPostCreated(Post post) {
+        timelineService.fanOut(post);
+        searchIndex.add(post.getId(), post.getContent());
+        if (hotFeed.isEnabled()) {
+            toViews(postRepo.findRowsByIdIn(List.of(post.getId()))).forEach(hotFeed::insert);
+        }
+        feedPageCache.invalidate();
+    }
+
+    public void onPostDeleted(Long postId) {
+        hotFeed.remove(postId);
+        searchIndex.remove(postId);
+        trendingService.remove(postId);
+        feedPageCache.invalidate();
+    }
+
+    // Username, bio, picture or skills of this user changed
+    public void onAuthorChanged(Long userId) {
+        hotFeed.invalidateAuthor(userId);
+        feedPageCache.invalidate();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmHotFeed() {
+        if (hotFeed.isEnabled()) {
+            loadHotFeed();
+        }
+    }
+
+    // Reads one row past capacity to learn whether the buffer covers the whole table
+    private synchronized void loadHotFeed() {
+        if (hotFeed.isLoaded()) {
+            return;
+        }
+        long version = hotFeed.version();
+        int capacity = hotFeed.capacity();
+        List<PostRow> rows = postRepo.findFeedRows(PageRequest.of(0, capacity + 1));
+        boolean complete = rows.size() <= capacity;
+        hotFeed.load(toViews(complete ? rows : rows.subList(0, capacity)), complete, version);
+    }
+
+    public int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Attaches author skill names with a single query for all authors on the page
+    private List<PostView> toViews(List<PostRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> authorIds = rows.stream().map(PostRow::userId).collect(Collectors.toSet());
+        Map<Long, List<String>> skillsByUser = new HashMap<>();
+        for (Object[] pair : skillRepo.findSkillNamesByUserIds(authorIds)) {
+            skillsByUser.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return rows.stream()
+            .map(row -> PostView.of(row, List.copyOf(skillsByUser.getOrDefault(row.userId(), List.of()))))
+            .toList();
+    }
+}
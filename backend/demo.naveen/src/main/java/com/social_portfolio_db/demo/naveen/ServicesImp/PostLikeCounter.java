@@ -0,0 +1,146 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
+import com.social_portfolio_db.demo.naveen.Utils.StripedCounterMap;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains posts.like_count. Likes and unlikes only touch an in-memory delta; the
+ * deltas are written back in one JDBC batch every {@code likes.flush-interval-ms}.
+ * A slower reconciliation pass recounts post_likes and repairs any drift. It also runs at
+ * startup, ahead of the other ready listeners, so posts that predate the column (created
+ * with DEFAULT 0) have real counts before the other startup listeners read them.
+ *
+ * A like commits its post_likes row before its delta is recorded, so reconciliation skips
+ * posts with a like/unlike in flight; otherwise it could count the row into like_count and
+ * then have the delta flushed on top.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostLikeCounter {
+
+    private final PostRepository postRepo;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final StripedCounterMap pending = new StripedCounterMap();
+    // Likes/unlikes running per post, from before their write until their delta is recorded
+    private final Map<Long, Integer> writes = new ConcurrentHashMap<>();
+
+    @Value("${likes.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    // Runs the like/unlike write and records delta for the post if it returns true
+    public boolean change(long postId, int delta, BooleanSupplier write) {
+        writes.merge(postId, 1, Integer::sum);
+        try {
+            if (!write.getAsBoolean()) {
+                return false;
+            }
+            pending.add(postId, delta);
+            return true;
+        } finally {
+            writes.computeIfPresent(postId, (k, running) -> running == 1 ? null : running - 1);
+        }
+    }
+
+    public long getCount(Long postId) {
+        long stored = postRepo.findLikeCountById(postId).orElse(0L);
+        return Math.max(0, stored + pending.get(postId));
+    }
+
+    // Unflushed delta for a post, for callers that read like_count themselves
+    public long pendingDelta(Long postId) {
+        return pending.get(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = pending.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> args.add(new Object[] { delta, postId }));
+        try {
+            jdbcTemplate.batchUpdate("UPDATE posts SET like_count = like_count + ? WHERE id = ?", args);
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            deltas.forEach(pending::add);
+            log.warn("Failed to flush {} post like counts", deltas.size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Scheduled(fixedDelayString = "${likes.reconcile-interval-ms:600000}",
+               initialDelayString = "${likes.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        flush();
+        long lastId = 0;
+        int repaired = 0;
+        while (true) {
+            Map<Long, Long> pendingBefore = pending.snapshot();
+            List<long[]> rows = jdbcTemplate.query(
+                "SELECT p.id, p.like_count, (SELECT COUNT(*) FROM post_likes pl WHERE pl.post_id = p.id) " +
+                "FROM posts p WHERE p.id > ? ORDER BY p.id LIMIT ?",
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) },
+                lastId, reconcileBatchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> fixes = new ArrayList<>();
+            for (long[] row : rows) {
+                long postId = row[0];
+                long stored = row[1];
+                long actual = row[2];
+                long pendingNow = pending.get(postId);
+                if (pendingNow != pendingBefore.getOrDefault(postId, 0L) || writes.containsKey(postId)) {
+                    // Liked or unliked while we were counting, or a row is in but its delta isn't
+                    // yet; look again next run
+                    continue;
+                }
+                // Rows for likes whose delta is still pending are already in post_likes
+                long expected = actual - pendingNow;
+                if (stored != expected) {
+                    fixes.add(new Object[] { expected, postId, stored });
+                }
+            }
+            if (!fixes.isEmpty()) {
+                // Only overwrite if nothing was flushed for the post since we read it
+                int[] updated = jdbcTemplate.batchUpdate(
+                    "UPDATE posts SET like_count = ? WHERE id = ? AND like_count = ?", fixes);
+                for (int count : updated) {
+                    repaired += Math.max(count, 0);
+                }
+            }
+            lastId = rows.get(rows.size() - 1)[0];
+        }
+        if (repaired > 0) {
+            log.warn("Repaired like_count drift on {} posts", repaired);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
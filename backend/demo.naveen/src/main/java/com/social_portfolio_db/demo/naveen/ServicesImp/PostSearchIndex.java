@@ -0,0 +1,247 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over post content, ranked with BM25. Kept current from the
+ * post create/delete hooks in PostFeedService and rebuilt from the posts table at startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "that", "the", "this", "to", "was", "with");
+
+    public record Result(List<Long> postIds, long total) {}
+
+    private final PostRepository postRepo;
+
+    @Value("${search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+    // Posts removed while a rebuild is running, so a batch read earlier cannot bring them back
+    private Set<Long> removedDuringRebuild;
+
+    public void add(Long postId, String content) {
+        List<String> tokens = tokenize(content);
+        Map<String, Integer> termFreqs = new HashMap<>();
+        for (String token : tokens) {
+            termFreqs.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            if (documents.containsKey(postId)
+                    || (removedDuringRebuild != null && removedDuringRebuild.contains(postId))) {
+                return;
+            }
+            termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new PostingList()).add(postId, tf));
+            documents.put(postId, new Document(termFreqs.keySet().toArray(String[]::new), tokens.size()));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            if (removedDuringRebuild != null) {
+                removedDuringRebuild.add(postId);
+            }
+            Document doc = documents.remove(postId);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms()) {
+                PostingList list = postings.get(term);
+                list.remove(postId);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= doc.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Post ids ranked by BM25 for the given query (ties broken newest id first), limited to
+     * the requested page, plus the total number of matching posts.
+     */
+    public Result search(String query, int page, int size) {
+        Set<String> terms = new HashSet<>(tokenize(query));
+        long wanted = (page + 1L) * size;
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            double avgLength = docCount == 0 ? 0 : (double) totalLength / docCount;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int tf = list.freqs[i];
+                    double norm = K1 * (1 - B + B * documents.get(list.docs[i]).length() / avgLength);
+                    scores.merge(list.docs[i], idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Map.Entry<Long, Double>> rank = Map.Entry.<Long, Double>comparingByValue()
+            .thenComparing(Map.Entry.comparingByKey());
+        // Min-heap of the best (page + 1) * size hits
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>((int) Math.max(Math.min(wanted, scores.size()), 1), rank);
+        for (Map.Entry<Long, Double> hit : scores.entrySet()) {
+            if (top.size() < wanted) {
+                top.add(hit);
+            } else if (rank.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(rank.reversed());
+        List<Long> ids = ranked.stream()
+            .skip((long) page * size)
+            .map(Map.Entry::getKey)
+            .toList();
+        return new Result(ids, scores.size());
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("documents", documents.size());
+            stats.put("terms", postings.size());
+            stats.put("totalTokens", totalLength);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reads posts in id order, rebuildBatchSize at a time, so memory use does not depend on table size
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            removedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long lastId = 0;
+        try {
+            while (true) {
+                List<Object[]> batch = postRepo.findContentAfter(lastId, PageRequest.of(0, rebuildBatchSize));
+                for (Object[] row : batch) {
+                    add((Long) row[0], (String) row[1]);
+                }
+                if (batch.size() < rebuildBatchSize) {
+                    break;
+                }
+                lastId = (Long) batch.get(batch.size() - 1)[0];
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                removedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} posts for search", documents.size());
+    }
+
+    // Lower-cased runs of letters and digits, minus very short tokens and stop words
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private record Document(String[] terms, int length) {}
+
+    // Unordered (postId, termFrequency) pairs in parallel primitive arrays
+    private static final class PostingList {
+        private long[] docs = new long[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(long docId, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = docId;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remove(long docId) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == docId) {
+                    size--;
+                    docs[i] = docs[size];
+                    freqs[i] = freqs[size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -33,6 +33,9 @@ public class ProjectsServiceImp implements ProjectService {
     @Autowired
     private UserJpa userRepo;
 
+    @Autowired
+    private LikeCounters likeCounters;
+
     private final String uploadDir = "uploads/projects/";
 
     @Override
@@ -86,7 +89,7 @@ public class ProjectsServiceImp implements ProjectService {
                 .title(p.getTitle())
                 .description(p.getDescription())
                 .imageUrl(p.getImageUrl())
-                .likeCount(p.getLikes() != null ? p.getLikes().size() : 0)
+                .likeCount((int) likeCounters.projectLikes(p.getId()))
                 .username(username)
                 .userId(userId)
                 .build();
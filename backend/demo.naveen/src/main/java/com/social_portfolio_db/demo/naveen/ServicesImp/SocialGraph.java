@@ -0,0 +1,496 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Jpa.FriendRequestRepository;
+import com.social_portfolio_db.demo.naveen.Utils.LongCsr;
+import com.social_portfolio_db.demo.naveen.Utils.LongDeltaRow;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The ACCEPTED follow edges of friend_requests, held in memory as two CSR adjacency
+ * structures (following and followers), each row a sorted run of user ids.
+ *
+ * Follow changes go to the affected rows in a small overlay map. Rows shorter than
+ * {@code graph.delta-row-size} are copied with the change applied; longer ones keep the
+ * change in a {@link LongDeltaRow} delta, so following an account with a million followers
+ * doesn't copy its whole row under the write lock. Once the overlay rows plus the pending
+ * delta entries reach {@code graph.compact-threshold} everything is merged back into fresh
+ * CSR arrays. Readers get a row as (array, from, to) under the read lock, so walking edges
+ * allocates nothing (except the first read of a long row after it changed, which merges it).
+ *
+ * On startup the graph is read from the snapshot at {@code graph.snapshot-path} if the
+ * snapshot's fingerprint (edge count and two sums of per-edge hashes) still matches
+ * friend_requests, otherwise streamed from the database. The snapshot is rewritten
+ * periodically and on shutdown when the graph changed. Every {@code graph.verify-interval-ms}
+ * the in-memory fingerprint is checked against the database, and the graph is rebuilt from
+ * the database if they disagree twice in a row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SocialGraph {
+
+    private static final int SNAPSHOT_MAGIC = 0x53475246;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final long HASH_MODULUS = 2147483659L;
+    private static final long[] NO_IDS = new long[0];
+
+    // Receives one row; ids[from .. to - 1] is sorted and must not be modified or kept
+    public interface RowReader<R> {
+        R read(long[] ids, int from, int to);
+    }
+
+    // Receives two rows read under the same lock, with the same rules as RowReader
+    public interface PairReader<R> {
+        R read(long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo);
+    }
+
+    private final FriendRequestRepository friendRequestRepo;
+
+    @Value("${graph.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${graph.compact-threshold:10000}")
+    private int compactThreshold;
+
+    @Value("${graph.delta-row-size:1024}")
+    private int deltaRowSize;
+
+    @Value("${graph.snapshot-path:data/social-graph.bin}")
+    private String snapshotPath;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongCsr following = LongCsr.EMPTY;
+    private LongCsr followers = LongCsr.EMPTY;
+    // Rows changed since the last compaction; they replace the CSR row for that user
+    private final Map<Long, LongDeltaRow> followingOverlay = new HashMap<>();
+    private final Map<Long, LongDeltaRow> followersOverlay = new HashMap<>();
+    // Ids held in the deltas of long overlay rows
+    private int deltaEntries;
+    // Edge count and per-edge hash sums, compared against friend_requests before trusting a
+    // snapshot and by verify()
+    private long edgeCount;
+    private long hashSumA;
+    private long hashSumB;
+    // In-memory fingerprint at the last verify() that disagreed with the database
+    private long[] mismatchedAt;
+    private boolean loaded;
+    private boolean dirty;
+    private String source = "none";
+    // Changes committed while load() is reading; replayed once it finishes
+    private List<long[]> pendingDuringLoad;
+
+    public void onEdgeAdded(long followerId, long followedId) {
+        apply(followerId, followedId, true);
+    }
+
+    public void onEdgeRemoved(long followerId, long followedId) {
+        apply(followerId, followedId, false);
+    }
+
+    public void onUserDeleted(long userId) {
+        for (long followedId : followingIds(userId)) {
+            apply(userId, followedId, false);
+        }
+        for (long followerId : followerIds(userId)) {
+            apply(followerId, userId, false);
+        }
+    }
+
+    // Ids the user follows, ascending
+    public <R> R readFollowing(long userId, RowReader<R> reader) {
+        return readRow(true, userId, reader);
+    }
+
+    // Ids following the user, ascending
+    public <R> R readFollowers(long userId, RowReader<R> reader) {
+        return readRow(false, userId, reader);
+    }
+
+    // Who followerSide follows (a) and who follows followedSide (b), consistent with each other
+    public <R> R readFollowingAndFollowers(long followerSide, long followedSide, PairReader<R> reader) {
+        lock.readLock().lock();
+        try {
+            return readRow(true, followerSide, (a, aFrom, aTo) ->
+                readRow(false, followedSide, (b, bFrom, bTo) -> reader.read(a, aFrom, aTo, b, bFrom, bTo)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] followingIds(long userId) {
+        return readFollowing(userId, (ids, from, to) -> Arrays.copyOfRange(ids, from, to));
+    }
+
+    public long[] followerIds(long userId) {
+        return readFollowers(userId, (ids, from, to) -> Arrays.copyOfRange(ids, from, to));
+    }
+
+    public boolean follows(long followerId, long followedId) {
+        return readFollowing(followerId, (ids, from, to) -> Arrays.binarySearch(ids, from, to, followedId) >= 0);
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("loaded", loaded);
+            stats.put("source", source);
+            stats.put("edges", edgeCount);
+            stats.put("csrNodes", following.nodeCount());
+            stats.put("csrEdges", following.edgeCount());
+            stats.put("overlayRows", followingOverlay.size() + followersOverlay.size());
+            stats.put("deltaEntries", deltaEntries);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild(true);
+    }
+
+    // Compares the graph with friend_requests; a mismatch only counts if the graph did not
+    // change while the database was read, and only a repeated one triggers a rebuild, so a
+    // follow committed but not yet applied is not mistaken for drift
+    @Scheduled(fixedDelayString = "${graph.verify-interval-ms:3600000}",
+               initialDelayString = "${graph.verify-interval-ms:3600000}")
+    public void verify() {
+        long[] before = currentFingerprint();
+        if (before == null) {
+            return;
+        }
+        long[] actual = databaseFingerprint();
+        long[] after = currentFingerprint();
+        if (!Arrays.equals(before, after)) {
+            return;
+        }
+        if (Arrays.equals(after, actual)) {
+            mismatchedAt = null;
+            return;
+        }
+        if (!Arrays.equals(after, mismatchedAt)) {
+            mismatchedAt = after;
+            return;
+        }
+        log.warn("Social graph disagrees with friend_requests ({} edges in memory, {} in the database), rebuilding",
+            after[0], actual[0]);
+        mismatchedAt = null;
+        rebuild(false);
+    }
+
+    private void rebuild(boolean trySnapshot) {
+        lock.writeLock().lock();
+        try {
+            pendingDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long started = System.currentTimeMillis();
+        LongCsr built = trySnapshot ? readSnapshot(databaseFingerprint()) : null;
+        String loadedFrom = "snapshot";
+        if (built == null) {
+            built = readDatabase();
+            loadedFrom = "database";
+        }
+        lock.writeLock().lock();
+        try {
+            following = built;
+            followers = built.transpose();
+            followingOverlay.clear();
+            followersOverlay.clear();
+            deltaEntries = 0;
+            recomputeFingerprint();
+            source = loadedFrom;
+            dirty = !"snapshot".equals(loadedFrom);
+            loaded = true;
+            for (long[] change : pendingDuringLoad) {
+                applyLocked(change[0], change[1], change[2] == 1);
+            }
+            pendingDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded social graph from {}: {} edges in {} ms",
+            loadedFrom, built.edgeCount(), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${graph.snapshot-interval-ms:600000}",
+               initialDelayString = "${graph.snapshot-interval-ms:600000}")
+    @PreDestroy
+    public void snapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return;
+        }
+        LongCsr graph;
+        long[] fingerprint;
+        lock.writeLock().lock();
+        try {
+            if (!loaded || !dirty) {
+                return;
+            }
+            compactLocked();
+            graph = following;
+            fingerprint = new long[] {edgeCount, hashSumA, hashSumB};
+            dirty = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Path target = Paths.get(snapshotPath);
+        try {
+            if (target.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+            }
+            // Write next to the target and rename, so a crash never leaves half a snapshot
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                for (long value : fingerprint) {
+                    out.writeLong(value);
+                }
+                graph.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write social graph snapshot to {}: {}", target, e.getMessage());
+            lock.writeLock().lock();
+            try {
+                dirty = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void apply(long followerId, long followedId, boolean added) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(new long[] {followerId, followedId, added ? 1 : 0});
+                return;
+            }
+            if (loaded) {
+                applyLocked(followerId, followedId, added);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocked(long followerId, long followedId, boolean added) {
+        if (!updateRow(following, followingOverlay, followerId, followedId, added)) {
+            return;
+        }
+        updateRow(followers, followersOverlay, followedId, followerId, added);
+        int sign = added ? 1 : -1;
+        edgeCount += sign;
+        hashSumA += sign * edgeHash(followerId, followedId, 1000003L);
+        hashSumB += sign * edgeHash(followedId, followerId, 999983L);
+        dirty = true;
+        if (followingOverlay.size() + followersOverlay.size() + deltaEntries > compactThreshold) {
+            compactLocked();
+        }
+    }
+
+    // Adds or removes one neighbour in the node's overlay row; false if the edge was already
+    // in the requested state. Short rows are merged right away, long ones keep a delta
+    private boolean updateRow(LongCsr csr, Map<Long, LongDeltaRow> overlay, long node, long neighbor, boolean add) {
+        LongDeltaRow row = overlay.get(node);
+        if (row == null) {
+            int index = csr.indexOf(node);
+            row = index < 0
+                ? new LongDeltaRow(NO_IDS, 0, 0)
+                : new LongDeltaRow(csr.edges(), csr.rowStart(index), csr.rowEnd(index));
+        }
+        int deltaBefore = row.deltaSize();
+        if (!(add ? row.add(neighbor) : row.remove(neighbor))) {
+            return false;
+        }
+        if (row.size() < deltaRowSize) {
+            row.fold();
+        }
+        deltaEntries += row.deltaSize() - deltaBefore;
+        overlay.put(node, row);
+        return true;
+    }
+
+    // Folds the overlay rows back into new CSR arrays
+    private void compactLocked() {
+        if (followingOverlay.isEmpty() && followersOverlay.isEmpty()) {
+            return;
+        }
+        long[] sources = new long[(int) edgeCount];
+        long[] targets = new long[(int) edgeCount];
+        int count = 0;
+        for (int i = 0; i < following.nodeCount(); i++) {
+            long node = following.node(i);
+            if (followingOverlay.containsKey(node)) {
+                continue;
+            }
+            for (int j = following.rowStart(i); j < following.rowEnd(i); j++) {
+                sources[count] = node;
+                targets[count++] = following.edges()[j];
+            }
+        }
+        for (Map.Entry<Long, LongDeltaRow> row : followingOverlay.entrySet()) {
+            for (long target : row.getValue().ids()) {
+                sources[count] = row.getKey();
+                targets[count++] = target;
+            }
+        }
+        following = LongCsr.build(sources, targets, count);
+        followers = following.transpose();
+        followingOverlay.clear();
+        followersOverlay.clear();
+        deltaEntries = 0;
+    }
+
+    private <R> R readRow(boolean outgoing, long node, RowReader<R> reader) {
+        lock.readLock().lock();
+        try {
+            LongDeltaRow row = (outgoing ? followingOverlay : followersOverlay).get(node);
+            if (row != null) {
+                long[] ids = row.ids();
+                return reader.read(ids, 0, ids.length);
+            }
+            LongCsr csr = outgoing ? following : followers;
+            int index = csr.indexOf(node);
+            if (index < 0) {
+                return reader.read(NO_IDS, 0, 0);
+            }
+            return reader.read(csr.edges(), csr.rowStart(index), csr.rowEnd(index));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recomputeFingerprint() {
+        edgeCount = following.edgeCount();
+        hashSumA = 0;
+        hashSumB = 0;
+        for (int i = 0; i < following.nodeCount(); i++) {
+            long node = following.node(i);
+            for (int j = following.rowStart(i); j < following.rowEnd(i); j++) {
+                hashSumA += edgeHash(node, following.edges()[j], 1000003L);
+                hashSumB += edgeHash(following.edges()[j], node, 999983L);
+            }
+        }
+    }
+
+    // Same per-edge hash as FriendRequestRepository.findAcceptedEdgeFingerprint; squaring
+    // makes the sum change when edges swap endpoints, which plain id sums cannot see
+    private static long edgeHash(long first, long second, long multiplier) {
+        long x = Math.floorMod(first * multiplier + second, HASH_MODULUS);
+        return x * x % HASH_MODULUS;
+    }
+
+    // Null while the graph is not loaded or is being rebuilt
+    private long[] currentFingerprint() {
+        lock.readLock().lock();
+        try {
+            if (!loaded || pendingDuringLoad != null) {
+                return null;
+            }
+            return new long[] {edgeCount, hashSumA, hashSumB};
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] databaseFingerprint() {
+        Object[] row = friendRequestRepo.findAcceptedEdgeFingerprint().get(0);
+        return new long[] {((Number) row[0]).longValue(), ((Number) row[1]).longValue(), ((Number) row[2]).longValue()};
+    }
+
+    // The snapshot's graph if it exists, is readable and matches the database, else null
+    private LongCsr readSnapshot(long[] expected) {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return null;
+        }
+        Path path = Paths.get(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring social graph snapshot {}: unknown format", path);
+                return null;
+            }
+            for (long value : expected) {
+                if (in.readLong() != value) {
+                    log.info("Social graph snapshot {} is stale, reloading from the database", path);
+                    return null;
+                }
+            }
+            return LongCsr.read(in);
+        } catch (IOException e) {
+            log.warn("Ignoring social graph snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // Streams ACCEPTED edges in friend_requests id order, loadBatchSize rows per query
+    private LongCsr readDatabase() {
+        long[] sources = new long[1024];
+        long[] targets = new long[1024];
+        int count = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = friendRequestRepo.findAcceptedEdgesAfter(lastId, PageRequest.of(0, loadBatchSize));
+            if (count + batch.size() > sources.length) {
+                int capacity = Math.max(sources.length * 2, count + batch.size());
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            for (Object[] row : batch) {
+                sources[count] = (Long) row[1];
+                targets[count++] = (Long) row[2];
+            }
+            if (batch.size() < loadBatchSize) {
+                break;
+            }
+            lastId = (Long) batch.get(batch.size() - 1)[0];
+        }
+        return LongCsr.build(sources, targets, count);
+    }
+}
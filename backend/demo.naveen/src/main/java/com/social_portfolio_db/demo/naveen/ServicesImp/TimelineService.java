@@ -0,0 +1,229 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Dtos.TimelineEntry;
+import com.social_portfolio_db.demo.naveen.Entity.Post;
+import com.social_portfolio_db.demo.naveen.Jpa.FriendRequestRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
+import com.social_portfolio_db.demo.naveen.Utils.FeedCursor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Home timelines ("posts from people I follow").
+ *
+ * New posts are pushed into the in-memory timeline of every follower that has one
+ * (fan-out-on-write). Authors with more than {@code timeline.fanout-follower-limit}
+ * followers are not fanned out; their posts are merged in when a follower reads
+ * (fan-out-on-read). A timeline is materialized from the database the first time its
+ * owner reads it and dropped whenever the owner follows or unfollows someone.
+ *
+ * At most {@code timeline.max-timelines} timelines are kept; a periodic sweep drops those
+ * not read for {@code timeline.idle-ttl-seconds}, then the least recently read beyond the
+ * cap. The same sweep returns authors whose follower count fell back under the limit to
+ * fan-out-on-write.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+        .comparing(TimelineEntry::createdAt)
+        .thenComparing(TimelineEntry::postId)
+        .reversed();
+    private static final Comparator<TimelineEntry> OLDEST_FIRST = NEWEST_FIRST.reversed();
+
+    private final PostRepository postRepo;
+    private final FriendRequestRepository friendRequestRepo;
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Set<Long> highFanoutAuthors = ConcurrentHashMap.newKeySet();
+    // Bumped when an author joins or leaves highFanoutAuthors so timelines re-resolve which of their followees are read-merged
+    private final AtomicLong highFanoutGeneration = new AtomicLong();
+
+    @Value("${timeline.capacity:500}")
+    private int capacity;
+
+    @Value("${timeline.fanout-follower-limit:10000}")
+    private long fanoutFollowerLimit;
+
+    @Value("${timeline.max-timelines:50000}")
+    private int maxTimelines;
+
+    @Value("${timeline.idle-ttl-seconds:1800}")
+    private long idleTtlSeconds;
+
+    public void fanOut(Post post) {
+        Long authorId = post.getUser().getId();
+        if (highFanoutAuthors.contains(authorId)) {
+            return;
+        }
+        if (friendRequestRepo.countByToUserIdAndStatus(authorId, "ACCEPTED") > fanoutFollowerLimit) {
+            highFanoutAuthors.add(authorId);
+            highFanoutGeneration.incrementAndGet();
+            return;
+        }
+        TimelineEntry entry = new TimelineEntry(post.getId(), post.getCreatedAt());
+        for (Long followerId : friendRequestRepo.findFollowerIds(authorId)) {
+            // Followers without a materialized timeline will pick the post up when it is built
+            Timeline timeline = timelines.get(followerId);
+            if (timeline != null) {
+                timeline.push(entry, capacity);
+            }
+        }
+    }
+
+    // The follow graph of this user changed; rebuild the timeline on next read
+    public void invalidate(Long userId) {
+        timelines.remove(userId);
+    }
+
+    /**
+     * Returns up to {@code size + 1} entries older than {@code after} (or the newest
+     * entries when {@code after} is null), newest first. The extra entry tells the caller
+     * whether another page exists.
+     */
+    public List<TimelineEntry> page(Long userId, FeedCursor after, int size) {
+        Timeline timeline = timelines.computeIfAbsent(userId, this::materialize);
+        if (timeline.generation != highFanoutGeneration.get()) {
+            timeline = materialize(userId);
+            timelines.put(userId, timeline);
+        }
+        timeline.lastRead = System.currentTimeMillis();
+        if (timelines.size() > maxTimelines + maxTimelines / 10) {
+            evict();
+        }
+
+        int wanted = size + 1;
+        List<TimelineEntry> result = new ArrayList<>(timeline.slice(after, wanted));
+        if (result.size() < wanted && !timeline.complete) {
+            // Paged past what we keep in memory; continue from the database
+            TimelineEntry last = result.isEmpty() ? null : result.get(result.size() - 1);
+            FeedCursor from = last != null ? new FeedCursor(last.createdAt(), last.postId()) : after;
+            result.addAll(load(timeline.pushedAuthors, from, wanted - result.size()));
+        }
+        if (!timeline.readMergedAuthors.isEmpty()) {
+            result.addAll(load(timeline.readMergedAuthors, after, wanted));
+            result.sort(NEWEST_FIRST);
+        }
+        return result.size() > wanted ? result.subList(0, wanted) : result;
+    }
+
+    @Scheduled(fixedDelayString = "${timeline.sweep-interval-ms:60000}")
+    public void sweep() {
+        evict();
+        boolean changed = false;
+        for (Iterator<Long> it = highFanoutAuthors.iterator(); it.hasNext(); ) {
+            Long authorId = it.next();
+            if (friendRequestRepo.countByToUserIdAndStatus(authorId, "ACCEPTED") <= fanoutFollowerLimit) {
+                it.remove();
+                changed = true;
+            }
+        }
+        if (changed) {
+            highFanoutGeneration.incrementAndGet();
+        }
+    }
+
+    // Drops idle timelines, then the least recently read ones until the cap holds
+    private synchronized void evict() {
+        long idleBefore = System.currentTimeMillis() - idleTtlSeconds * 1000;
+        timelines.values().removeIf(t -> t.lastRead < idleBefore);
+        int excess = timelines.size() - maxTimelines;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<Long, Timeline>> byLastRead = new ArrayList<>(timelines.entrySet());
+        byLastRead.sort(Comparator.comparingLong(e -> e.getValue().lastRead));
+        for (int i = 0; i < excess && i < byLastRead.size(); i++) {
+            timelines.remove(byLastRead.get(i).getKey(), byLastRead.get(i).getValue());
+        }
+    }
+
+    private Timeline materialize(Long userId) {
+        long generation = highFanoutGeneration.get();
+        Set<Long> pushed = new HashSet<>();
+        Set<Long> readMerged = new HashSet<>();
+        for (Long followingId : friendRequestRepo.findFollowingIds(userId)) {
+            (highFanoutAuthors.contains(followingId) ? readMerged : pushed).add(followingId);
+        }
+        List<TimelineEntry> entries = load(pushed, null, capacity + 1);
+        boolean complete = entries.size() <= capacity;
+        if (!complete) {
+            entries = entries.subList(0, capacity);
+        }
+        return new Timeline(entries, complete, pushed, readMerged, generation);
+    }
+
+    private List<TimelineEntry> load(Set<Long> authorIds, FeedCursor after, int limit) {
+        if (authorIds.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        return after == null
+            ? postRepo.findTimelineEntries(authorIds, page)
+            : postRepo.findTimelineEntriesAfter(authorIds, after.createdAt(), after.id(), page);
+    }
+
+    private static final class Timeline {
+        // Sorted oldest first and without duplicates, so slice can binary-search it; trimming drops from the front
+        private final ArrayList<TimelineEntry> entries;
+        private volatile boolean complete;
+        private final Set<Long> pushedAuthors;
+        private final Set<Long> readMergedAuthors;
+        private final long generation;
+        private volatile long lastRead = System.currentTimeMillis();
+
+        Timeline(List<TimelineEntry> newestFirst, boolean complete, Set<Long> pushedAuthors,
+                 Set<Long> readMergedAuthors, long generation) {
+            this.entries = new ArrayList<>(newestFirst);
+            Collections.reverse(this.entries);
+            this.complete = complete;
+            this.pushedAuthors = pushedAuthors;
+            this.readMergedAuthors = readMergedAuthors;
+            this.generation = generation;
+        }
+
+        synchronized void push(TimelineEntry entry, int capacity) {
+            // Fan-out can race with materialize or deliver posts out of order: insert in place, once
+            int pos = Collections.binarySearch(entries, entry, OLDEST_FIRST);
+            if (pos >= 0) {
+                return;
+            }
+            entries.add(-pos - 1, entry);
+            if (entries.size() > capacity) {
+                entries.remove(0);
+                complete = false;
+            }
+        }
+
+        synchronized List<TimelineEntry> slice(FeedCursor after, int limit) {
+            int end = entries.size();
+            if (after != null) {
+                TimelineEntry probe = new TimelineEntry(after.id(), after.createdAt());
+                int pos = Collections.binarySearch(entries, probe, OLDEST_FIRST);
+                end = pos >= 0 ? pos : -pos - 1;
+            }
+            List<TimelineEntry> out = new ArrayList<>(Math.min(limit, end));
+            for (int i = end - 1; i >= 0 && out.size() < limit; i--) {
+                out.add(entries.get(i));
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Trending posts: each like is worth 1 when it happens and decays exponentially with
+ * {@code trending.half-life-minutes}. Since every score decays at the same rate, scores are
+ * stored relative to a fixed origin (a like at time t is worth 2^((t - origin) / halfLife))
+ * and never need to be re-decayed; only the ordering matters.
+ *
+ * At most {@code trending.tracked-posts} posts are tracked, in a sorted set, so reading the
+ * top K is O(K). The set is rebuilt periodically from post_likes.created_at over the last
+ * {@code trending.window-hours}, so the result matches what the live updates would have
+ * produced; likes and unlikes that arrive while the rebuild is reading are replayed onto
+ * it. Likes made before post_likes had timestamps count as if made when the post was.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${trending.half-life-minutes:360}")
+    private double halfLifeMinutes;
+
+    @Value("${trending.tracked-posts:1000}")
+    private int trackedPosts;
+
+    @Value("${trending.window-hours:72}")
+    private long windowHours;
+
+    private final TreeSet<Scored> ranking = new TreeSet<>();
+    private final Map<Long, Scored> byPost = new HashMap<>();
+    private LocalDateTime origin = LocalDateTime.now();
+    // Non-null while a rebuild is reading; collects what it has to replay
+    private List<Event> duringRebuild;
+
+    public synchronized void onLike(Long postId, LocalDateTime likedAt) {
+        adjust(postId, weight(origin, likedAt));
+        if (duringRebuild != null) {
+            duringRebuild.add(new Event(postId, likedAt, null));
+        }
+    }
+
+    // likedAt is null for a like made before likes were timestamped; the next rebuild drops it
+    public synchronized void onUnlike(Long postId, LocalDateTime likedAt) {
+        if (likedAt == null) {
+            return;
+        }
+        adjust(postId, -weight(origin, likedAt));
+        if (duringRebuild != null) {
+            duringRebuild.add(new Event(postId, likedAt, LocalDateTime.now()));
+        }
+    }
+
+    public synchronized void remove(Long postId) {
+        Scored current = byPost.remove(postId);
+        if (current != null) {
+            ranking.remove(current);
+        }
+    }
+
+    // Best first
+    public synchronized List<Long> top(int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranking.size()));
+        Iterator<Scored> it = ranking.descendingIterator();
+        while (it.hasNext() && ids.size() < limit) {
+            ids.add(it.next().postId());
+        }
+        return ids;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${trending.rebuild-interval-ms:900000}",
+               initialDelayString = "${trending.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        LocalDateTime cutoff;
+        synchronized (this) {
+            duringRebuild = new ArrayList<>();
+            cutoff = LocalDateTime.now();
+        }
+        try {
+            Timestamp since = Timestamp.valueOf(cutoff.minusHours(windowHours));
+            Map<Long, Double> scores = new HashMap<>();
+            // Likes from `cutoff` on are replayed from duringRebuild instead
+            jdbcTemplate.query("SELECT post_id, created_at FROM post_likes WHERE created_at >= ? AND created_at < ?",
+                (RowCallbackHandler) rs -> scores.merge(rs.getLong(1),
+                    weight(cutoff, rs.getTimestamp(2).toLocalDateTime()), Double::sum),
+                since, Timestamp.valueOf(cutoff));
+            jdbcTemplate.query("SELECT p.id, p.created_at, COUNT(*) FROM post_likes pl JOIN posts p ON p.id = pl.post_id " +
+                    "WHERE pl.created_at IS NULL AND p.created_at >= ? GROUP BY p.id, p.created_at",
+                (RowCallbackHandler) rs -> scores.merge(rs.getLong(1),
+                    rs.getLong(3) * weight(cutoff, rs.getTimestamp(2).toLocalDateTime()), Double::sum),
+                since);
+
+            TreeSet<Scored> rebuilt = new TreeSet<>();
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                rebuilt.add(new Scored(e.getKey(), e.getValue()));
+                if (rebuilt.size() > trackedPosts) {
+                    rebuilt.pollFirst();
+                }
+            }
+            synchronized (this) {
+                ranking.clear();
+                ranking.addAll(rebuilt);
+                byPost.clear();
+                for (Scored scored : rebuilt) {
+                    byPost.put(scored.postId(), scored);
+                }
+                origin = cutoff;
+                for (Event event : duringRebuild) {
+                    if (event.unlikedAt() == null) {
+                        if (!event.likedAt().isBefore(cutoff)) {
+                            adjust(event.postId(), weight(origin, event.likedAt()));
+                        }
+                    } else if (!event.likedAt().isBefore(cutoff) || !event.unlikedAt().isBefore(cutoff)) {
+                        // The rebuild counted this like (or its replay just did)
+                        adjust(event.postId(), -weight(origin, event.likedAt()));
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                duringRebuild = null;
+            }
+        }
+    }
+
+    private void adjust(Long postId, double delta) {
+        Scored current = byPost.remove(postId);
+        double score = delta;
+        if (current != null) {
+            ranking.remove(current);
+            score += current.score();
+        }
+        // Anything this small is rounding left over from a like/unlike pair
+        if (score <= Math.abs(delta) * 1e-9) {
+            return;
+        }
+        Scored updated = new Scored(postId, score);
+        ranking.add(updated);
+        byPost.put(postId, updated);
+        if (ranking.size() > trackedPosts) {
+            byPost.remove(ranking.pollFirst().postId());
+        }
+    }
+
+    private double weight(LocalDateTime from, LocalDateTime time) {
+        double minutes = Duration.between(from, time).toSeconds() / 60.0;
+        return Math.pow(2, minutes / halfLifeMinutes);
+    }
+
+    private record Event(Long postId, LocalDateTime likedAt, LocalDateTime unlikedAt) {}
+
+    private record Scored(Long postId, double score) implements Comparable<Scored> {
+        @Override
+        public int compareTo(Scored other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : postId.compareTo(other.postId);
+        }
+    }
+}
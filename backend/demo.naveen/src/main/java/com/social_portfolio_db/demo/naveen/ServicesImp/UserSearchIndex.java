@@ -0,0 +1,295 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.social_portfolio_db.demo.naveen.Dtos.UsernameMatch;
+import com.social_portfolio_db.demo.naveen.Jpa.SkillRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Case-insensitive substring search over username, skill names and location. Each field
+ * has a trigram index (trigram -> user ids); a query intersects the posting sets of its
+ * trigrams and then checks the candidates against the stored values, so results match the
+ * old LIKE '%term%' semantics exactly. Terms shorter than three characters scan the stored
+ * values instead. Loaded at startup and kept current from register, profile updates and
+ * user deletes.
+ *
+ * Usernames are also kept in an array sorted by their lower-cased form, so prefix
+ * autocomplete is a binary search followed by a short scan.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    // byName order: (lower-cased username, id)
+    private static final Comparator<NameSlot> NAME_ORDER = Comparator.comparing(NameSlot::folded)
+        .thenComparing(slot -> slot.match().id());
+
+    private final UserJpa userRepo;
+    private final SkillRepository skillRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> users = new HashMap<>();
+    private final Map<String, Set<Long>> nameGrams = new HashMap<>();
+    private final Map<String, Set<Long>> skillGrams = new HashMap<>();
+    private final Map<String, Set<Long>> locationGrams = new HashMap<>();
+    // Sorted by (lower-cased username, id)
+    private final List<NameSlot> byName = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Long, List<String>> skills = groupSkills(skillRepo.findAllSkillNames());
+        lock.writeLock().lock();
+        try {
+            users.clear();
+            nameGrams.clear();
+            skillGrams.clear();
+            locationGrams.clear();
+            byName.clear();
+            // Sorted once at the end; inserting each slot in place would shift the list per user
+            List<NameSlot> slots = new ArrayList<>();
+            for (Object[] row : userRepo.findSearchFields()) {
+                Long userId = (Long) row[0];
+                slots.add(index(userId, (String) row[1], (String) row[2], skills.getOrDefault(userId, List.of())));
+            }
+            slots.sort(NAME_ORDER);
+            byName.addAll(slots);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-reads the user's searchable fields after a register or profile update
+    public void onUserSaved(Long userId) {
+        List<Object[]> rows = userRepo.findSearchFieldsById(userId);
+        List<String> skills = groupSkills(skillRepo.findSkillNamesByUserIds(List.of(userId)))
+            .getOrDefault(userId, List.of());
+        lock.writeLock().lock();
+        try {
+            removeEntry(userId);
+            if (!rows.isEmpty()) {
+                put(userId, (String) rows.get(0)[1], (String) rows.get(0)[2], skills);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onUserDeleted(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of users matching every non-null term. A null term places no restriction; all
+     * null returns every user. Sorted by username when the sort asks for it, otherwise by
+     * id (which is also creation order).
+     */
+    public List<Long> search(String name, String skill, String location, Sort sort) {
+        lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+            if (name != null) {
+                result = match(result, normalize(name), nameGrams, e -> List.of(e.name()));
+            }
+            if (skill != null) {
+                result = match(result, normalize(skill), skillGrams, Entry::skills);
+            }
+            if (location != null) {
+                result = match(result, normalize(location), locationGrams,
+                    e -> e.location() == null ? List.of() : List.of(e.location()));
+            }
+            List<Long> ids = new ArrayList<>(result == null ? users.keySet() : result);
+            Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+            Comparator<Long> comparator = "username".equals(order.getProperty())
+                ? Comparator.<Long, String>comparing(id -> users.get(id).name()).thenComparing(Comparator.naturalOrder())
+                : Comparator.naturalOrder();
+            ids.sort(order.isDescending() ? comparator.reversed() : comparator);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Users whose username starts with the prefix, ignoring case, alphabetically
+    public List<UsernameMatch> autocomplete(String prefix, int limit) {
+        String folded = normalize(prefix);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<UsernameMatch> matches = new ArrayList<>(Math.min(limit, 16));
+            for (int i = lowerBound(folded, Long.MIN_VALUE); i < byName.size() && matches.size() < limit; i++) {
+                NameSlot slot = byName.get(i);
+                if (!slot.folded().startsWith(folded)) {
+                    break;
+                }
+                matches.add(slot.match());
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return users.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Narrows `within` (null = everyone) to users whose field contains the term
+    private Set<Long> match(Set<Long> within, String term, Map<String, Set<Long>> grams,
+                            Function<Entry, Collection<String>> values) {
+        Collection<Long> candidates;
+        if (term.length() < 3) {
+            candidates = within != null ? within : users.keySet();
+        } else {
+            Set<Long> smallest = null;
+            for (String gram : trigrams(term)) {
+                Set<Long> ids = grams.get(gram);
+                if (ids == null) {
+                    return new HashSet<>();
+                }
+                if (smallest == null || ids.size() < smallest.size()) {
+                    smallest = ids;
+                }
+            }
+            candidates = within != null && within.size() < smallest.size() ? within : smallest;
+        }
+        Set<Long> matched = new HashSet<>();
+        for (Long userId : candidates) {
+            if (within != null && !within.contains(userId)) {
+                continue;
+            }
+            for (String value : values.apply(users.get(userId))) {
+                if (value.contains(term)) {
+                    matched.add(userId);
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    private void put(Long userId, String name, String location, List<String> skills) {
+        NameSlot slot = index(userId, name, location, skills);
+        byName.add(lowerBound(slot.folded(), userId), slot);
+    }
+
+    // Adds the user to every index except byName and returns their byName slot
+    private NameSlot index(Long userId, String name, String location, List<String> skills) {
+        Entry entry = new Entry(
+            normalize(name),
+            location == null ? null : normalize(location),
+            skills.stream().map(UserSearchIndex::normalize).toList());
+        users.put(userId, entry);
+        forEachGram(entry, (grams, gram) -> grams.computeIfAbsent(gram, g -> new HashSet<>()).add(userId));
+        return new NameSlot(entry.name(), new UsernameMatch(userId, name));
+    }
+
+    private void removeEntry(Long userId) {
+        Entry entry = users.remove(userId);
+        if (entry == null) {
+            return;
+        }
+        int pos = lowerBound(entry.name(), userId);
+        if (pos < byName.size() && byName.get(pos).match().id().equals(userId)) {
+            byName.remove(pos);
+        }
+        forEachGram(entry, (grams, gram) -> {
+            Set<Long> ids = grams.get(gram);
+            if (ids != null) {
+                ids.remove(userId);
+                if (ids.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        });
+    }
+
+    private void forEachGram(Entry entry, BiConsumer<Map<String, Set<Long>>, String> action) {
+        for (String gram : trigrams(entry.name())) {
+            action.accept(nameGrams, gram);
+        }
+        for (String skill : entry.skills()) {
+            for (String gram : trigrams(skill)) {
+                action.accept(skillGrams, gram);
+            }
+        }
+        if (entry.location() != null) {
+            for (String gram : trigrams(entry.location())) {
+                action.accept(locationGrams, gram);
+            }
+        }
+    }
+
+    // First position in byName not ordered before (foldedName, id)
+    private int lowerBound(String foldedName, long id) {
+        int lo = 0;
+        int hi = byName.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            NameSlot probe = byName.get(mid);
+            int cmp = probe.folded().compareTo(foldedName);
+            if (cmp < 0 || (cmp == 0 && probe.match().id() < id)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            grams.add(value.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<Long, List<String>> groupSkills(List<Object[]> rows) {
+        Map<Long, List<String>> skills = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                skills.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        return skills;
+    }
+
+    private record Entry(String name, String location, List<String> skills) {}
+
+    private record NameSlot(String folded, UsernameMatch match) {}
+}
@@ -12,7 +12,12 @@ import java.nio.file.Path;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.social_portfolio_db.demo.naveen.Dtos.FollowPage;
+import com.social_portfolio_db.demo.naveen.Dtos.FollowUser;
+import com.social_portfolio_db.demo.naveen.Dtos.MutualFollowers;
+import com.social_portfolio_db.demo.naveen.Dtos.UserCard;
 import com.social_portfolio_db.demo.naveen.Dtos.UserProfileDTO;
+import com.social_portfolio_db.demo.naveen.Dtos.UserSearchPage;
 import com.social_portfolio_db.demo.naveen.Entity.Skills;
 import com.social_portfolio_db.demo.naveen.Entity.Users;
 import com.social_portfolio_db.demo.naveen.Entity.Projects;
@@ -21,16 +26,26 @@ import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
 import com.social_portfolio_db.demo.naveen.Jpa.ProjectsRepository;
 import com.social_portfolio_db.demo.naveen.Mappers.UserProfileMapper;
 import com.social_portfolio_db.demo.naveen.Services.UserService;
+import com.social_portfolio_db.demo.naveen.Utils.SortedLongs;
 import com.social_portfolio_db.demo.naveen.Dtos.ProjectDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.social_portfolio_db.demo.naveen.Entity.FriendRequest;
-import com.social_portfolio_db.demo.naveen.Entity.Notification;
 import com.social_portfolio_db.demo.naveen.Jpa.FriendRequestRepository;
-import com.social_portfolio_db.demo.naveen.Jpa.NotificationRepository;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -45,7 +60,28 @@ public class UserServiceImp implements UserService {
     @Autowired
     private FriendRequestRepository friendRequestRepo;
     @Autowired
-    private NotificationRepository notificationRepo;
+    private NotificationQueue notificationQueue;
+    @Autowired
+    private TimelineService timelineService;
+    @Autowired
+    private ContentVersions contentVersions;
+    @Autowired
+    private FollowerLeaderboard followerLeaderboard;
+    @Autowired
+    private SocialGraph socialGraph;
+    @Autowired
+    private FriendSuggestionService friendSuggestionService;
+    @Autowired
+    private PostFeedService postFeedService;
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    @Autowired
+    private LikeCounters likeCounters;
+
+    private static final Set<String> SEARCH_SORTS = Set.of("id", "username", "createdAt");
+
+    @Value("${users.search.max-page-size:50}")
+    private int maxSearchPageSize;
 
     public UserServiceImp(UserJpa userRepo, SkillRepository skillRepo) {
         this.userRepo = userRepo;
@@ -58,26 +94,13 @@ public class UserServiceImp implements UserService {
             .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
         // Force initialization of projects to avoid LazyInitializationException
         user.getProjects().size();
-        return UserProfileMapper.toDto(user, userRepo);
+        return UserProfileMapper.toDto(user, likeCounters::projectLikes);
     }
 
     @Override
-    public List<UserProfileDTO> searchUsersBySkillAndName(String skill, String username) {
-        List<Users> users;
-
-        if (skill != null && username != null) {
-            users = userRepo.findBySkillNameAndUsernameContainingIgnoreCase(skill, username);
-        } else if (skill != null) {
-            users = userRepo.findBySkillName(skill);
-        } else if (username != null) {
-            users = userRepo.findByUsernameContainingIgnoreCase(username);
-        } else {
-            users = userRepo.findAll(); // fallback
-        }
-
-        return users.stream()
-                    .map(u -> UserProfileMapper.toDto(u, userRepo))
-                    .toList();
+    public UserSearchPage searchUsersBySkillAndName(String skill, String username, Pageable pageable) {
+        Page<UserCard> page = userRepo.findCardsBySkillAndName(skill, username, capPage(pageable));
+        return new UserSearchPage(page.getContent(), page.getTotalElements(), page.getNumber(), page.getSize());
     }
 
     public void updateProfile(Long id, UserProfileDTO dto) {
@@ -128,6 +151,8 @@ public class UserServiceImp implements UserService {
         }
 
         userRepo.save(user);
+        postFeedService.onAuthorChanged(id);
+        userSearchIndex.onUserSaved(id);
     }
 
     public void uploadProfileImage(Long id, MultipartFile file) {
@@ -146,31 +171,97 @@ public class UserServiceImp implements UserService {
             Users user = userRepo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
             user.setProfilePicUrl("/images/profiles/" + fileName);
             userRepo.save(user);
+            postFeedService.onAuthorChanged(id);
         } catch (Exception e) {
             throw new RuntimeException("Error uploading image", e);
         }
     }
 
-public List<UserProfileDTO> searchUsersByParams(String name, String skill, String location) {
-    List<Users> users = userRepo.searchUsers(name, skill, location);
-    return users.stream().map(u -> UserProfileMapper.toDto(u, userRepo)).toList();
+public UserSearchPage searchUsersByParams(String name, String skill, String location, Pageable pageable) {
+    Pageable page = capPage(pageable);
+    // Matching ids come from the in-memory trigram index; one IN query loads the requested page
+    List<Long> ids = userSearchIndex.search(name, skill, location, page.getSort());
+    int from = (int) Math.min(page.getOffset(), ids.size());
+    List<Long> pageIds = ids.subList(from, Math.min(from + page.getPageSize(), ids.size()));
+    if (pageIds.isEmpty()) {
+        return new UserSearchPage(List.of(), ids.size(), page.getPageNumber(), page.getPageSize());
+    }
+    Map<Long, UserCard> byId = new HashMap<>();
+    for (UserCard card : userRepo.findCardsByIdIn(pageIds)) {
+        byId.put(card.id(), card);
+    }
+    List<UserCard> cards = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    return new UserSearchPage(cards, ids.size(), page.getPageNumber(), page.getPageSize());
 }
 
-public List<Users> getFollowers(Long userId){
-    Set<Users> followersSet = userRepo.findFollowersOfUser(userId);
-    if (followersSet == null) {
-        throw new RuntimeException("User not found with id: " + userId);
-    }
-    return new java.util.ArrayList<>(followersSet);
+// Caps the page size and keeps only sorts on id, username or createdAt (default: id)
+private Pageable capPage(Pageable pageable) {
+    List<Sort.Order> orders = pageable.getSort().stream()
+        .filter(order -> SEARCH_SORTS.contains(order.getProperty()))
+        .toList();
+    Sort sort = orders.isEmpty() ? Sort.by("id") : Sort.by(orders);
+    return PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), maxSearchPageSize), sort);
 }
 
-public List<Users> getFollowing(Long userId) {
-    Set<Users> followingSet = userRepo.findFollowings(userId);
-    if (followingSet == null) {
-        throw new RuntimeException("User not found with id: " + userId);
+// The first `previewSize` users (by id) that the viewer follows and that follow userId, plus the full count
+public ResponseEntity<?> getMutualFollowers(Long userId, UserDetails userDetails, int previewSize) {
+    try {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body("You must be logged in to see mutual followers.");
+        }
+        Users viewer = userRepo.findByEmail(userDetails.getUsername())
+            .orElseThrow(() -> new RuntimeException("Current user not found"));
+        long[] preview = new long[previewSize];
+        int total;
+        if (socialGraph.isLoaded()) {
+            total = socialGraph.readFollowingAndFollowers(viewer.getId(), userId,
+                (a, aFrom, aTo, b, bFrom, bTo) -> SortedLongs.intersect(a, aFrom, aTo, b, bFrom, bTo, preview));
+        } else {
+            long[] following = sortedDistinct(friendRequestRepo.findFollowingIds(viewer.getId()));
+            long[] followers = sortedDistinct(friendRequestRepo.findFollowerIds(userId));
+            total = SortedLongs.intersect(following, 0, following.length, followers, 0, followers.length, preview);
+        }
+        List<Long> ids = new java.util.ArrayList<>();
+        for (int i = 0; i < Math.min(total, previewSize); i++) {
+            ids.add(preview[i]);
+        }
+        Map<Long, UserCard> cards = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (UserCard card : userRepo.findCardsByIdIn(ids)) {
+                cards.put(card.id(), card);
+            }
+        }
+        List<UserCard> users = ids.stream().map(cards::get).filter(Objects::nonNull).toList();
+        return ResponseEntity.ok(new MutualFollowers(users, total));
+    } catch (Exception e) {
+        e.printStackTrace();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body("Error fetching mutual followers: " + e.getMessage());
     }
-    return new java.util.ArrayList<>(followingSet);
+}
+
+private static long[] sortedDistinct(List<Long> ids) {
+    return ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+}
 
+public FollowPage getFollowers(Long userId, Long after, int size) {
+    List<FollowUser> rows = userRepo.findFollowerPage(userId, after == null ? 0L : after, PageRequest.of(0, size + 1));
+    return toFollowPage(rows, size, userRepo.findFollowerCountById(userId).orElse(0));
+}
+
+public FollowPage getFollowing(Long userId, Long after, int size) {
+    List<FollowUser> rows = userRepo.findFollowingPage(userId, after == null ? 0L : after, PageRequest.of(0, size + 1));
+    return toFollowPage(rows, size, userRepo.findFollowingCountById(userId).orElse(0));
+}
+
+// rows holds up to size + 1 entries; the extra one only signals that another page exists
+private static FollowPage toFollowPage(List<FollowUser> rows, int size, long total) {
+    if (rows.size() <= size) {
+        return new FollowPage(rows, null, total);
+    }
+    List<FollowUser> page = rows.subList(0, size);
+    return new FollowPage(page, page.get(size - 1).id(), total);
 }
 
 public ResponseEntity<?> sendFriendRequest(Long id, UserDetails userDetails) {
@@ -180,22 +271,15 @@ public ResponseEntity<?> sendFriendRequest(Long id, UserDetails userDetails) {
         if (Objects.equals(fromUser.getId(), toUser.getId())) {
             return ResponseEntity.badRequest().body("You cannot send a friend request to yourself");
         }
-        if (friendRequestRepo.existsByFromUserAndToUserAndStatus(fromUser, toUser, "PENDING")) {
-            return ResponseEntity.badRequest().body("Friend request already sent");
+        // One row per pair: insert it, or turn a declined request back into a pending one
+        if (friendRequestRepo.insertIfAbsent(fromUser.getId(), toUser.getId(), "PENDING", LocalDateTime.now()) == 0
+                && friendRequestRepo.updateStatusIf(fromUser.getId(), toUser.getId(), "DECLINED", "PENDING") == 0) {
+            boolean following = friendRequestRepo.existsByFromUserAndToUserAndStatus(fromUser, toUser, "ACCEPTED");
+            return ResponseEntity.badRequest().body(following ? "Already following" : "Friend request already sent");
         }
-        FriendRequest req = FriendRequest.builder().fromUser(fromUser).toUser(toUser).status("PENDING")
-            .createdAt(LocalDateTime.now())
-            .build();
-        friendRequestRepo.save(req);
+        contentVersions.bump(FriendRequest.class);
         // Add notification for friend request
-        Notification notification = Notification.builder()
-            .user(toUser)
-            .message(fromUser.getUsername() + " sent you a friend request.")
-            .type("FRIEND_REQUEST")
-            .createdAt(LocalDateTime.now())
-            .read(false)
-            .build();
-        notificationRepo.save(notification);
+        notificationQueue.send(toUser.getId(), fromUser.getUsername() + " sent you a friend request.", "FRIEND_REQUEST");
         return ResponseEntity.ok("Friend request sent");
     } catch (Exception e) {
         e.printStackTrace();
@@ -204,31 +288,43 @@ public ResponseEntity<?> sendFriendRequest(Long id, UserDetails userDetails) {
     }
 }
 
+@Transactional
 public ResponseEntity<?> acceptFriendRequest(Long id, UserDetails userDetails) {
     try {
         Users toUser = userRepo.findByEmail(userDetails.getUsername()).orElseThrow(() -> new RuntimeException("Current user not found"));
         Users fromUser = userRepo.findById(id).orElseThrow(() -> new RuntimeException("Request sender not found"));
-        FriendRequest req = friendRequestRepo.findByFromUserAndToUser(fromUser, toUser).orElseThrow(() -> new RuntimeException("No request found"));
-        req.setStatus("ACCEPTED");
-        friendRequestRepo.save(req);
+        friendRequestRepo.findByFromUserAndToUser(fromUser, toUser).orElseThrow(() -> new RuntimeException("No request found"));
+        // Only the call that actually flips the status counts the new edge
+        if (friendRequestRepo.updateStatusUnless(fromUser.getId(), toUser.getId(), "ACCEPTED") == 1) {
+            contentVersions.bump(FriendRequest.class);
+            onFollowEdgeChanged(fromUser.getId(), toUser.getId(), true);
+        }
         return ResponseEntity.ok("Friend request accepted");
     } catch (Exception e) {
         e.printStackTrace();
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body("Error accepting friend request: " + e.getMessage());
     }
 }
 
+@Transactional
 public ResponseEntity<?> declineFriendRequest(Long id, UserDetails userDetails) {
     try {
         Users toUser = userRepo.findByEmail(userDetails.getUsername()).orElseThrow(() -> new RuntimeException("Current user not found"));
         Users fromUser = userRepo.findById(id).orElseThrow(() -> new RuntimeException("Request sender not found"));
-        FriendRequest req = friendRequestRepo.findByFromUserAndToUser(fromUser, toUser).orElseThrow(() -> new RuntimeException("No request found"));
-        req.setStatus("DECLINED");
-        friendRequestRepo.save(req);
+        friendRequestRepo.findByFromUserAndToUser(fromUser, toUser).orElseThrow(() -> new RuntimeException("No request found"));
+        boolean wasFollowing = friendRequestRepo.updateStatusIf(fromUser.getId(), toUser.getId(), "ACCEPTED", "DECLINED") == 1;
+        if (wasFollowing || friendRequestRepo.updateStatusUnless(fromUser.getId(), toUser.getId(), "DECLINED") == 1) {
+            contentVersions.bump(FriendRequest.class);
+        }
+        if (wasFollowing) {
+            onFollowEdgeChanged(fromUser.getId(), toUser.getId(), false);
+        }
         return ResponseEntity.ok("Friend request declined");
     } catch (Exception e) {
         e.printStackTrace();
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body("Error declining friend request: " + e.getMessage());
     }
@@ -272,46 +368,33 @@ public ResponseEntity<?> cancelFriendRequest(Long id, UserDetails userDetails) {
     }
 }
 
+@Transactional
 public ResponseEntity<?> followUser(Long id, Long followerId) {
     try {
         Users user = userRepo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         Users follower = userRepo.findById(followerId).orElseThrow(() -> new RuntimeException("Follower not found"));
-        Optional<FriendRequest> existingRequest = friendRequestRepo.findByFromUserAndToUser(follower, user);
-        if (existingRequest.isPresent()) {
-            FriendRequest request = existingRequest.get();
-            if ("ACCEPTED".equals(request.getStatus())) {
-                return ResponseEntity.ok("Already following");
-            } else if ("PENDING".equals(request.getStatus())) {
-                request.setStatus("ACCEPTED");
-                friendRequestRepo.save(request);
-            }
-        } else {
-            FriendRequest request = FriendRequest.builder()
-                .fromUser(follower)
-                .toUser(user)
-                .status("ACCEPTED")
-                .createdAt(LocalDateTime.now())
-                .build();
-            friendRequestRepo.save(request);
+        // Insert the follow, or accept an existing pending/declined request. Each statement
+        // reports whether this call made the change, so a double-click counts the edge once
+        boolean followed = friendRequestRepo.insertIfAbsent(follower.getId(), user.getId(), "ACCEPTED", LocalDateTime.now()) == 1
+            || friendRequestRepo.updateStatusUnless(follower.getId(), user.getId(), "ACCEPTED") == 1;
+        if (!followed) {
+            return ResponseEntity.ok("Already following");
         }
+        contentVersions.bump(FriendRequest.class);
+        onFollowEdgeChanged(follower.getId(), user.getId(), true);
         if (!Objects.equals(follower.getId(), user.getId())) {
-            Notification notif = Notification.builder()
-                .user(user)
-                .message(follower.getUsername() + " started following you.")
-                .type("FOLLOW")
-                .createdAt(LocalDateTime.now())
-                .read(false)
-                .build();
-            notificationRepo.save(notif);
+            notificationQueue.send(user.getId(), follower.getUsername() + " started following you.", "FOLLOW");
         }
         return ResponseEntity.ok("Followed user");
     } catch (Exception e) {
         e.printStackTrace();
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body("Error following user: " + e.getMessage());
     }
 }
 
+@Transactional
 public ResponseEntity<?> unfollowUser(Long id, UserDetails userDetails) {
     try {
         if (userDetails == null) {
@@ -325,6 +408,7 @@ public ResponseEntity<?> unfollowUser(Long id, UserDetails userDetails) {
         Optional<FriendRequest> request = friendRequestRepo.findByFromUserAndToUser(currentUser, targetUser);
         if (request.isPresent() && "ACCEPTED".equals(request.get().getStatus())) {
             friendRequestRepo.delete(request.get());
+            onFollowEdgeChanged(currentUser.getId(), targetUser.getId(), false);
             return ResponseEntity.ok("Unfollowed user successfully");
         } else if (request.isPresent()) {
             return ResponseEntity.badRequest().body("You have not followed this user yet (status: " + request.get().getStatus() + ")");
@@ -333,11 +417,13 @@ public ResponseEntity<?> unfollowUser(Long id, UserDetails userDetails) {
         }
     } catch (Exception e) {
         e.printStackTrace();
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body("Error unfollowing user: " + e.getMessage());
     }
 }
 
+@Transactional
 public ResponseEntity<?> removeFollower(Long id, UserDetails userDetails) {
     try {
         if (userDetails == null) {
@@ -351,6 +437,7 @@ public ResponseEntity<?> removeFollower(Long id, UserDetails userDetails) {
         Optional<FriendRequest> request = friendRequestRepo.findByFromUserAndToUser(followerUser, currentUser);
         if (request.isPresent() && "ACCEPTED".equals(request.get().getStatus())) {
             friendRequestRepo.delete(request.get());
+            onFollowEdgeChanged(followerUser.getId(), currentUser.getId(), false);
             return ResponseEntity.ok("Follower removed successfully");
         } else if (request.isPresent()) {
             return ResponseEntity.badRequest().body("This user is not following you yet (status: " + request.get().getStatus() + ")");
@@ -359,9 +446,42 @@ public ResponseEntity<?> removeFollower(Long id, UserDetails userDetails) {
         }
     } catch (Exception e) {
         e.printStackTrace();
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body("Error removing follower: " + e.getMessage());
     }
 }
 
+// Called after an ACCEPTED follow edge from followerId to followedId was added or removed,
+// inside the transaction that changed friend_requests
+private void onFollowEdgeChanged(Long followerId, Long followedId, boolean added) {
+    userRepo.addFollowEdge(followerId, followedId, added ? 1 : -1);
+    contentVersions.bump(Users.class);
+    afterCommit(() -> {
+        if (added) {
+            socialGraph.onEdgeAdded(followerId, followedId);
+        } else {
+            socialGraph.onEdgeRemoved(followerId, followedId);
+        }
+        timelineService.invalidate(followerId);
+        friendSuggestionService.invalidate(followerId);
+        followerLeaderboard.refresh(followedId);
+    });
+}
+
+// Runs once the current transaction commits (or right away outside one), so caches are
+// never refilled from data that is about to change
+private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+        action.run();
+        return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            action.run();
+        }
+    });
+}
+
 }
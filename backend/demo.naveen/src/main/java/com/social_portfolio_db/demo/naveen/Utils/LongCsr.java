@@ -0,0 +1,144 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable adjacency lists in compressed sparse row form. Node ids are sorted in
+ * {@code nodes}; the neighbours of nodes[i] are edges[offsets[i]] .. edges[offsets[i + 1] - 1],
+ * sorted and without duplicates. Everything lives in three primitive arrays, so a row is
+ * read by index arithmetic with no per-edge objects.
+ */
+public final class LongCsr {
+
+    public static final LongCsr EMPTY = new LongCsr(new long[0], new int[1], new long[0]);
+
+    private final long[] nodes;
+    private final int[] offsets;
+    private final long[] edges;
+
+    private LongCsr(long[] nodes, int[] offsets, long[] edges) {
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.edges = edges;
+    }
+
+    // Builds from the first `count` (source, target) pairs; duplicate pairs are dropped
+    public static LongCsr build(long[] sources, long[] targets, int count) {
+        long[] nodes = distinctSorted(Arrays.copyOf(sources, count));
+        int[] offsets = new int[nodes.length + 1];
+        int[] rowOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            rowOf[i] = Arrays.binarySearch(nodes, sources[i]);
+            offsets[rowOf[i] + 1]++;
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        long[] edges = new long[count];
+        int[] fill = Arrays.copyOf(offsets, nodes.length);
+        for (int i = 0; i < count; i++) {
+            edges[fill[rowOf[i]]++] = targets[i];
+        }
+        // Sort each row and squeeze out duplicates, shifting rows left as needed
+        int write = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            int start = offsets[i];
+            int end = offsets[i + 1];
+            Arrays.sort(edges, start, end);
+            offsets[i] = write;
+            for (int j = start; j < end; j++) {
+                if (j == start || edges[j] != edges[j - 1]) {
+                    edges[write++] = edges[j];
+                }
+            }
+        }
+        offsets[nodes.length] = write;
+        return new LongCsr(nodes, offsets, write == count ? edges : Arrays.copyOf(edges, write));
+    }
+
+    // Same edges, reversed
+    public LongCsr transpose() {
+        long[] sources = new long[edges.length];
+        for (int i = 0; i < nodes.length; i++) {
+            Arrays.fill(sources, offsets[i], offsets[i + 1], nodes[i]);
+        }
+        return build(edges, sources, edges.length);
+    }
+
+    // Row index of the node, or a negative value if it has no edges
+    public int indexOf(long node) {
+        return Arrays.binarySearch(nodes, node);
+    }
+
+    public int rowStart(int index) {
+        return offsets[index];
+    }
+
+    public int rowEnd(int index) {
+        return offsets[index + 1];
+    }
+
+    public long node(int index) {
+        return nodes[index];
+    }
+
+    // Shared backing array; callers must not modify it
+    public long[] edges() {
+        return edges;
+    }
+
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(nodes.length);
+        out.writeInt(edges.length);
+        for (long node : nodes) {
+            out.writeLong(node);
+        }
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        for (long edge : edges) {
+            out.writeLong(edge);
+        }
+    }
+
+    public static LongCsr read(DataInput in) throws IOException {
+        long[] nodes = new long[in.readInt()];
+        long[] edges = new long[in.readInt()];
+        int[] offsets = new int[nodes.length + 1];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = in.readLong();
+        }
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = in.readInt();
+        }
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = in.readLong();
+        }
+        if (offsets[0] != 0 || offsets[nodes.length] != edges.length) {
+            throw new IOException("Corrupt adjacency data");
+        }
+        return new LongCsr(nodes, offsets, edges);
+    }
+
+    private static long[] distinctSorted(long[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,136 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import java.util.Arrays;
+
+/**
+ * One adjacency row as a sorted base run plus small sorted sets of ids added and removed
+ * since. Changing the row only touches the delta, so a row of a million ids is never copied
+ * to add or drop one; the merged view is built on the first read after a change and kept
+ * until the next one.
+ *
+ * Not thread-safe for writers: changes must be serialized against readers (SocialGraph does
+ * this with its write lock). Concurrent readers may race to build the merged view, which
+ * only costs duplicate work.
+ */
+public final class LongDeltaRow {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private long[] base;
+    private int baseFrom;
+    private int baseTo;
+    // Disjoint from each other; added never overlaps the base run, removed is a subset of it
+    private long[] added = NO_IDS;
+    private long[] removed = NO_IDS;
+    private volatile long[] merged;
+
+    // Wraps base[from .. to - 1] (sorted, without duplicates) without copying it
+    public LongDeltaRow(long[] base, int from, int to) {
+        this.base = base;
+        this.baseFrom = from;
+        this.baseTo = to;
+    }
+
+    public boolean contains(long id) {
+        if (Arrays.binarySearch(added, id) >= 0) {
+            return true;
+        }
+        return Arrays.binarySearch(base, baseFrom, baseTo, id) >= 0 && Arrays.binarySearch(removed, id) < 0;
+    }
+
+    // False if the id was already present
+    public boolean add(long id) {
+        if (contains(id)) {
+            return false;
+        }
+        int pos = Arrays.binarySearch(removed, id);
+        if (pos >= 0) {
+            removed = without(removed, pos);
+        } else {
+            added = with(added, id);
+        }
+        merged = null;
+        return true;
+    }
+
+    // False if the id was not present
+    public boolean remove(long id) {
+        int pos = Arrays.binarySearch(added, id);
+        if (pos >= 0) {
+            added = without(added, pos);
+        } else if (Arrays.binarySearch(base, baseFrom, baseTo, id) >= 0 && Arrays.binarySearch(removed, id) < 0) {
+            removed = with(removed, id);
+        } else {
+            return false;
+        }
+        merged = null;
+        return true;
+    }
+
+    public int size() {
+        return baseTo - baseFrom + added.length - removed.length;
+    }
+
+    public int deltaSize() {
+        return added.length + removed.length;
+    }
+
+    // Makes the merged ids the new base and empties the delta
+    public void fold() {
+        if (deltaSize() == 0) {
+            return;
+        }
+        base = ids();
+        baseFrom = 0;
+        baseTo = base.length;
+        added = NO_IDS;
+        removed = NO_IDS;
+    }
+
+    // All ids, ascending; shared with other readers, so it must not be modified
+    public long[] ids() {
+        long[] result = merged;
+        if (result != null) {
+            return result;
+        }
+        if (deltaSize() == 0 && baseFrom == 0 && baseTo == base.length) {
+            result = base;
+        } else {
+            result = new long[size()];
+            int i = baseFrom;
+            int a = 0;
+            int r = 0;
+            int out = 0;
+            while (i < baseTo || a < added.length) {
+                if (a == added.length || (i < baseTo && base[i] < added[a])) {
+                    if (r < removed.length && removed[r] == base[i]) {
+                        r++;
+                    } else {
+                        result[out++] = base[i];
+                    }
+                    i++;
+                } else {
+                    result[out++] = added[a++];
+                }
+            }
+        }
+        merged = result;
+        return result;
+    }
+
+    private static long[] with(long[] ids, long id) {
+        int insertAt = -Arrays.binarySearch(ids, id) - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        return updated;
+    }
+
+    private static long[] without(long[] ids, int pos) {
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, pos);
+        System.arraycopy(ids, pos + 1, updated, pos, ids.length - pos - 1);
+        return updated;
+    }
+}
@@ -0,0 +1,82 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+/**
+ * Counts occurrences of long keys in open-addressed primitive arrays, so counting does not
+ * box or allocate per key. Key 0 is reserved as the empty-slot marker (database ids start
+ * at 1). Not thread-safe; meant to live for the duration of one computation.
+ */
+public class LongIntCounter {
+
+    public interface Visitor {
+        void accept(long key, int count);
+    }
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    public LongIntCounter(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(expectedKeys, 8) * 2 - 1) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+    }
+
+    public void increment(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = slot(keys, key);
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            size++;
+            if (size * 2 > keys.length) {
+                counts[slot] = 1;
+                grow();
+                return;
+            }
+        }
+        counts[slot]++;
+    }
+
+    public int get(long key) {
+        int slot = slot(keys, key);
+        return keys[slot] == key ? counts[slot] : 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                visitor.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    // Linear probing from a mixed hash; the table is never more than half full
+    private static int slot(long[] table, long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        int mask = table.length - 1;
+        int slot = (int) (h ^ (h >>> 32)) & mask;
+        while (table[slot] != 0 && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,134 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.social_portfolio_db.demo.naveen.Dtos.PostView;
+
+/**
+ * Fixed-capacity circular buffer of the newest posts, kept in feed order
+ * (createdAt desc, id desc). Logical index 0 is the newest post. Not thread-safe;
+ * callers lock around it.
+ */
+public class PostRingBuffer {
+
+    private static final Comparator<PostView> FEED_ORDER = Comparator
+        .comparing(PostView::createdAt)
+        .thenComparing(PostView::id)
+        .reversed();
+
+    private final PostView[] slots;
+    private int head;
+    private int size;
+    // True while the buffer holds every post in the table, not just the newest ones
+    private boolean complete;
+
+    public PostRingBuffer(int capacity) {
+        this.slots = new PostView[capacity];
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // newestFirst must already be in feed order; complete says whether it is the whole table
+    public void reset(List<PostView> newestFirst, boolean complete) {
+        int count = Math.min(newestFirst.size(), slots.length);
+        Arrays.fill(slots, null);
+        for (int i = 0; i < count; i++) {
+            slots[i] = newestFirst.get(i);
+        }
+        this.head = 0;
+        this.size = count;
+        this.complete = complete && count == newestFirst.size();
+    }
+
+    // Inserts in feed order; the oldest post falls off when the buffer is full
+    public void insert(PostView post) {
+        int pos = firstOlderThan(post.createdAt(), post.id());
+        if (size == slots.length) {
+            if (pos == size) {
+                // Older than everything we keep
+                complete = false;
+                return;
+            }
+            size--;
+            complete = false;
+        }
+        // Open a gap at pos by moving the newer part one slot towards the front
+        head = (head - 1 + slots.length) % slots.length;
+        for (int i = 0; i < pos; i++) {
+            slots[physical(i)] = slots[physical(i + 1)];
+        }
+        slots[physical(pos)] = post;
+        size++;
+    }
+
+    public boolean remove(Long postId) {
+        for (int i = 0; i < size; i++) {
+            if (slots[physical(i)].id().equals(postId)) {
+                for (int j = i; j < size - 1; j++) {
+                    slots[physical(j)] = slots[physical(j + 1)];
+                }
+                slots[physical(size - 1)] = null;
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean containsAuthor(Long userId) {
+        for (int i = 0; i < size; i++) {
+            if (slots[physical(i)].user().id().equals(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns up to {@code limit} posts strictly older than the cursor (newest first when
+     * the cursor is null), or null when the buffer cannot answer without the database.
+     */
+    public List<PostView> page(FeedCursor after, int limit) {
+        int start = after == null ? 0 : firstOlderThan(after.createdAt(), after.id());
+        int available = size - start;
+        if (available < limit && !complete) {
+            return null;
+        }
+        int count = Math.min(limit, available);
+        List<PostView> out = new ArrayList<>(count);
+        for (int i = start; i < start + count; i++) {
+            out.add(slots[physical(i)]);
+        }
+        return out;
+    }
+
+    // Logical index of the first post that sorts after (is older than) the given position
+    private int firstOlderThan(LocalDateTime createdAt, Long id) {
+        PostView probe = new PostView(id, null, createdAt, null);
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (FEED_ORDER.compare(slots[physical(mid)], probe) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int physical(int logical) {
+        return (head + logical) % slots.length;
+    }
+}
@@ -0,0 +1,145 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over long keys that grows instead of degrading: once the newest stage holds
+ * its capacity, a stage with twice the capacity and half the false-positive rate is added.
+ * Stage rates are fpp/2, fpp/4, ..., so the combined rate stays under fpp. Adds and lookups
+ * are lock-free; keys cannot be removed.
+ */
+public class ScalableBloomFilter {
+
+    private final double fpp;
+    private volatile Stage[] stages;
+
+    public ScalableBloomFilter(long initialCapacity, double fpp) {
+        this.fpp = fpp;
+        this.stages = new Stage[] {new Stage(Math.max(initialCapacity, 1024), fpp / 2)};
+    }
+
+    public void add(long key) {
+        long h = mix(key);
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last.count.get() >= last.capacity) {
+            last = grow(last);
+        }
+        last.add(h);
+    }
+
+    public boolean mightContain(long key) {
+        long h = mix(key);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.count.get();
+        }
+        return size;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    public long bitCount() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bits;
+        }
+        return bits;
+    }
+
+    // False-positive probability implied by how full each stage actually is
+    public double estimatedFpp() {
+        double allMiss = 1;
+        for (Stage stage : stages) {
+            allMiss *= 1 - Math.pow(stage.fillRatio(), stage.hashes);
+        }
+        return 1 - allMiss;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last != full) {
+            return last;
+        }
+        Stage next = new Stage(full.capacity * 2, fpp / Math.pow(2, current.length + 1));
+        Stage[] grown = new Stage[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = next;
+        stages = grown;
+        return next;
+    }
+
+    // Murmur3 finalizer; the two halves drive double hashing
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Stage {
+        final long capacity;
+        final long bits;
+        final int hashes;
+        final AtomicLongArray words;
+        final AtomicLong count = new AtomicLong();
+
+        Stage(long capacity, double fpp) {
+            this.capacity = capacity;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+            this.bits = (long) words.length() * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        }
+
+        void add(long h) {
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old = words.get(word);
+                while ((old & mask) == 0 && !words.compareAndSet(word, old, old | mask)) {
+                    old = words.get(word);
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(long h) {
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double fillRatio() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return (double) set / bits;
+        }
+    }
+}
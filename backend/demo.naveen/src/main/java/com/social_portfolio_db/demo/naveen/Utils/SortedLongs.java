@@ -0,0 +1,88 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+/**
+ * Intersection of ascending, duplicate-free long ranges. Similar sizes use a linear merge;
+ * when one side is much larger, each element of the smaller side is located in the larger
+ * by galloping (exponential probe, then binary search), which costs O(small * log(large / small)).
+ */
+public final class SortedLongs {
+
+    // Beyond this size ratio galloping beats the merge
+    private static final int GALLOP_RATIO = 16;
+
+    private SortedLongs() {
+    }
+
+    /**
+     * Counts the values present in both a[aFrom, aTo) and b[bFrom, bTo), copying the first
+     * (smallest) out.length of them into out. Returns the full count.
+     */
+    public static int intersect(long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo, long[] out) {
+        int aSize = aTo - aFrom;
+        int bSize = bTo - bFrom;
+        if (aSize == 0 || bSize == 0) {
+            return 0;
+        }
+        if (aSize > bSize) {
+            return intersect(b, bFrom, bTo, a, aFrom, aTo, out);
+        }
+        return (long) aSize * GALLOP_RATIO < bSize
+            ? gallop(a, aFrom, aTo, b, bFrom, bTo, out)
+            : merge(a, aFrom, aTo, b, bFrom, bTo, out);
+    }
+
+    private static int merge(long[] a, int i, int aTo, long[] b, int j, int bTo, long[] out) {
+        int count = 0;
+        while (i < aTo && j < bTo) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                if (count < out.length) {
+                    out[count] = a[i];
+                }
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    // a is the small side
+    private static int gallop(long[] a, int i, int aTo, long[] b, int j, int bTo, long[] out) {
+        int count = 0;
+        for (; i < aTo && j < bTo; i++) {
+            long target = a[i];
+            // Probe b[j], b[j+1], b[j+2], b[j+4], ... until reaching the target
+            int step = 1;
+            int lo = j;
+            int hi = j;
+            while (hi < bTo && b[hi] < target) {
+                lo = hi + 1;
+                hi = j + step;
+                step <<= 1;
+            }
+            hi = Math.min(hi, bTo - 1);
+            // First position in b[lo, hi] holding a value >= target
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (b[mid] < target) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            j = lo;
+            if (j < bTo && b[j] == target) {
+                if (count < out.length) {
+                    out[count] = target;
+                }
+                count++;
+                j++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,26 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Forward-only statements for reading a whole table without holding it in memory.
+ * MySQL Connector/J ignores ordinary fetch sizes (it buffers the full result unless the
+ * pool-wide useCursorFetch is on, which also makes every statement a server-side prepare),
+ * but streams row by row when the fetch size is Integer.MIN_VALUE. Other drivers get the
+ * given fetch size. While a MySQL stream is open the connection cannot run other statements.
+ */
+public final class StreamingStatements {
+
+    private StreamingStatements() {
+    }
+
+    public static PreparedStatement prepare(Connection con, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = "MySQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName());
+        ps.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+        return ps;
+    }
+}
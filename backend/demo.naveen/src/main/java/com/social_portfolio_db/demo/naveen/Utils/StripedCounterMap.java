@@ -0,0 +1,92 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long counters keyed by id, one LongAdder each. {@link #add} only takes the map's bin
+ * lock the first time a key is seen; after that concurrent updates of the same key go
+ * straight to the adder's cells. Drain, set and replace never swap an adder out: they
+ * read its sum and add the difference, so an add that races with them is either included
+ * in what they read or stays in the counter. Keys are therefore never dropped once seen
+ * (except by {@link #remove}), which bounds the map by the number of distinct ids.
+ */
+public class StripedCounterMap {
+
+    private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void add(long key, long delta) {
+        LongAdder adder = counters.get(key);
+        if (adder == null) {
+            adder = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.add(delta);
+    }
+
+    public long get(long key) {
+        LongAdder adder = counters.get(key);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public void set(long key, long value) {
+        counters.compute(key, (k, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.add(value - target.sum());
+            return target;
+        });
+    }
+
+    // Sets the value only if the key currently holds `expected` (absent counts as 0);
+    // returns whether it did. An add landing in between is kept on top of `value`.
+    public boolean replace(long key, long expected, long value) {
+        boolean[] replaced = {false};
+        counters.compute(key, (k, adder) -> {
+            long current = adder != null ? adder.sum() : 0L;
+            if (current != expected) {
+                return adder;
+            }
+            replaced[0] = true;
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.add(value - expected);
+            return target;
+        });
+        return replaced[0];
+    }
+
+    // Discards the key; an add racing with this may be lost
+    public void remove(long key) {
+        counters.remove(key);
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    // Point-in-time copy of every non-zero value
+    public Map<Long, Long> snapshot() {
+        Map<Long, Long> copy = new HashMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                copy.put(key, value);
+            }
+        });
+        return copy;
+    }
+
+    // Returns every non-zero value and subtracts it, leaving the counters at zero (or at
+    // whatever was added while draining). Not safe to call from two threads at once.
+    public Map<Long, Long> drain() {
+        Map<Long, Long> drained = new HashMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                adder.add(-value);
+                drained.put(key, value);
+            }
+        });
+        return drained;
+    }
+}
@@ -0,0 +1,67 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.social_portfolio_db.demo.naveen.Dtos.LeaderboardEntry;
+import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+
+/**
+ * FollowerLeaderboard against a mocked UserJpa holding one user, id 7, whose follower count
+ * goes from 1 to 2 while a refresh is reading it.
+ */
+class FollowerLeaderboardTest {
+
+    private UserJpa userRepo;
+    private FollowerLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        userRepo = mock(UserJpa.class);
+        when(userRepo.findMostFollowed(any(Pageable.class))).thenReturn(new ArrayList<>());
+        List<Object[]> names = new ArrayList<>();
+        names.add(new Object[] {7L, "seven"});
+        when(userRepo.findUsernamesByIdIn(anyCollection())).thenReturn(names);
+        leaderboard = new FollowerLeaderboard(userRepo);
+        ReflectionTestUtils.setField(leaderboard, "trackedUsers", 10);
+        leaderboard.rebuild();
+    }
+
+    @Test
+    void staleReadAppliedLastDoesNotOverwriteANewerOne() {
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(userRepo.findFollowerCountById(7L)).thenAnswer(call -> {
+            if (first.getAndSet(false)) {
+                // A second follow commits and its refresh reads and applies 2 before this read returns
+                leaderboard.refresh(7L);
+                return Optional.of(1);
+            }
+            return Optional.of(2);
+        });
+        leaderboard.refresh(7L);
+        assertEquals(List.of(new LeaderboardEntry(7L, "seven", 2)), leaderboard.page(0, 1));
+    }
+
+    @Test
+    void readTakenBeforeRemovalDoesNotBringTheUserBack() {
+        when(userRepo.findFollowerCountById(7L)).thenAnswer(call -> {
+            leaderboard.remove(7L);
+            return Optional.of(3);
+        });
+        leaderboard.refresh(7L);
+        assertEquals(List.of(), leaderboard.page(0, 1));
+    }
+}
@@ -0,0 +1,49 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Friends-of-friends suggestions over a generated graph of 1M follow edges between 50k
+ * users (followed ids skewed towards popular accounts). Prints load time and per-request
+ * latency percentiles; run with {@code mvn test -Pbenchmark}. FriendSuggestionServiceTest
+ * checks the results on a smaller graph.
+ */
+@Tag("benchmark")
+class FriendSuggestionBenchmarkTest {
+
+    private static SuggestionFixture fixture;
+
+    @BeforeAll
+    static void buildGraph() {
+        fixture = new SuggestionFixture(50_000, 1_000_000);
+        System.out.printf("Loaded %d edges in %d ms%n", fixture.edges, fixture.loadMillis);
+    }
+
+    @Test
+    void latencyAtOneMillionEdges() {
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            fixture.suggestions.compute(random.nextInt(fixture.users) + 1);
+        }
+        int runs = 2_000;
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long userId = random.nextInt(fixture.users) + 1;
+            long started = System.nanoTime();
+            fixture.suggestions.compute(userId);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("Suggestions over %d edges, %d requests: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            fixture.edges, runs, nanos[runs / 2] / 1e6, nanos[runs * 95 / 100] / 1e6, nanos[runs * 99 / 100] / 1e6,
+            nanos[runs - 1] / 1e6);
+        assertTrue(nanos[runs / 2] > 0);
+    }
+}
@@ -0,0 +1,96 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.social_portfolio_db.demo.naveen.Dtos.UserSuggestion;
+
+/**
+ * Friends-of-friends suggestions over a generated graph of 40k follow edges between 2k users,
+ * checked against a naive recount.
+ */
+class FriendSuggestionServiceTest {
+
+    private static SuggestionFixture fixture;
+
+    @BeforeAll
+    static void buildGraph() {
+        fixture = new SuggestionFixture(2_000, 40_000);
+    }
+
+    @AfterEach
+    void clearSkills() {
+        fixture.skills.clear();
+    }
+
+    @Test
+    void mutualCountsMatchNaiveRecount() {
+        Random random = new Random(7);
+        for (int n = 0; n < 20; n++) {
+            long userId = random.nextInt(fixture.users) + 1;
+            long[] following = fixture.graph.followingIds(userId);
+            Map<Long, Integer> expected = new HashMap<>();
+            for (long friend : following) {
+                for (long candidate : fixture.graph.followingIds(friend)) {
+                    if (candidate != userId && Arrays.binarySearch(following, candidate) < 0) {
+                        expected.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+            List<UserSuggestion> result = fixture.suggestions.compute(userId);
+            int best = expected.values().stream().max(Integer::compare).orElse(0);
+            if (!result.isEmpty()) {
+                assertEquals(best, result.get(0).mutualFollows());
+            }
+            for (int i = 0; i < result.size(); i++) {
+                UserSuggestion s = result.get(i);
+                assertFalse(s.user().id() == userId);
+                assertEquals(expected.get(s.user().id()), s.mutualFollows());
+                if (i > 0) {
+                    assertTrue(result.get(i - 1).mutualFollows() >= s.mutualFollows());
+                }
+            }
+        }
+    }
+
+    @Test
+    void sharedSkillsLiftACandidateAboveHigherMutualCounts() {
+        long userId = 5;
+        List<UserSuggestion> before = fixture.suggestions.compute(userId);
+        UserSuggestion first = before.get(0);
+        UserSuggestion last = before.get(before.size() - 1);
+        int gap = first.mutualFollows() - last.mutualFollows();
+        assertTrue(gap > 0);
+
+        // Enough skills in common (matched case-insensitively) to outweigh the gap at 0.5 each
+        List<String> mine = new ArrayList<>();
+        List<String> theirs = new ArrayList<>();
+        for (int i = 0; i < 2 * gap + 2; i++) {
+            mine.add("skill" + i);
+            theirs.add("SKILL" + i);
+        }
+        theirs.add("unshared");
+        fixture.skills.put(userId, mine);
+        fixture.skills.put(last.user().id(), theirs);
+
+        List<UserSuggestion> after = fixture.suggestions.compute(userId);
+        assertEquals(last.user().id(), after.get(0).user().id());
+        assertEquals(2 * gap + 2, after.get(0).sharedSkills());
+        assertEquals(last.mutualFollows(), after.get(0).mutualFollows());
+        // Everyone else keeps their relative order
+        assertEquals(before.subList(0, before.size() - 1).stream().map(s -> s.user().id()).toList(),
+            after.subList(1, after.size()).stream().map(s -> s.user().id()).toList());
+    }
+}
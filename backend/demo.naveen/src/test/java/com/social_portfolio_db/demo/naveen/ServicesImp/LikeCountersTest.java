@@ -0,0 +1,98 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.social_portfolio_db.demo.naveen.Entity.ProjectsLike;
+import com.social_portfolio_db.demo.naveen.Jpa.ProfileLikeRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.ProjectsLikeRepository;
+
+/**
+ * LikeCounters against mocked repositories whose counts come from {@code rows}, the number of
+ * like rows of project 1 "in the database".
+ */
+class LikeCountersTest {
+
+    private final AtomicLong rows = new AtomicLong();
+    private final ContentVersions contentVersions = new ContentVersions();
+    private LikeCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        ProjectsLikeRepository projectsLikeRepo = mock(ProjectsLikeRepository.class);
+        when(projectsLikeRepo.countLikesByProject()).thenAnswer(call -> {
+            List<Object[]> counts = new ArrayList<>();
+            if (rows.get() > 0) {
+                counts.add(new Object[] {1L, rows.get()});
+            }
+            return counts;
+        });
+        when(projectsLikeRepo.countByProjectId(anyLong())).thenAnswer(call -> rows.get());
+        ProfileLikeRepository profileLikeRepo = mock(ProfileLikeRepository.class);
+        when(profileLikeRepo.countLikesByLikedUser()).thenReturn(new ArrayList<>());
+        counters = new LikeCounters(projectsLikeRepo, profileLikeRepo, contentVersions);
+        counters.reconcile();
+    }
+
+    @Test
+    void reconcileBetweenCommitAndIncrementDoesNotDoubleCount() {
+        assertTrue(counters.changeProject(1L, 1, () -> {
+            rows.incrementAndGet();
+            // The row is committed but the +1 has not landed yet
+            assertEquals(0, counters.reconcile());
+            return true;
+        }));
+        assertEquals(1, counters.projectLikes(1L));
+        assertEquals(0, counters.reconcile());
+    }
+
+    @Test
+    void reconcileBetweenDeleteAndDecrementDoesNotUndercount() {
+        rows.set(2);
+        counters.reconcile();
+        assertTrue(counters.changeProject(1L, -1, () -> {
+            rows.decrementAndGet();
+            assertEquals(0, counters.reconcile());
+            return true;
+        }));
+        assertEquals(1, counters.projectLikes(1L));
+    }
+
+    @Test
+    void reconcileRepairsDriftOnceNothingIsInFlight() {
+        rows.set(3);
+        assertEquals(1, counters.reconcile());
+        assertEquals(3, counters.projectLikes(1L));
+        assertFalse(counters.changeProject(1L, 1, () -> false));
+        assertEquals(3, counters.projectLikes(1L));
+    }
+
+    @Test
+    void versionMovesOnlyOnceTheCountHas() {
+        String before = contentVersions.etag(ProjectsLike.class);
+        counters.changeProject(1L, 1, () -> {
+            rows.incrementAndGet();
+            // A list request here reads the old count, so it must get the old tag too
+            assertEquals(before, contentVersions.etag(ProjectsLike.class));
+            return true;
+        });
+        assertNotEquals(before, contentVersions.etag(ProjectsLike.class));
+
+        String beforeRepair = contentVersions.etag(ProjectsLike.class);
+        rows.set(5);
+        assertEquals(1, counters.reconcile());
+        assertNotEquals(beforeRepair, contentVersions.etag(ProjectsLike.class));
+    }
+}
@@ -0,0 +1,147 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.social_portfolio_db.demo.naveen.Entity.Projects;
+import com.social_portfolio_db.demo.naveen.Entity.Users;
+import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.ProfileLikeRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.ProjectsLikeRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.ProjectsRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+
+/**
+ * Many threads liking or unliking the same project/profile at once (a double-click, or a
+ * retried request) must leave exactly one like row, report exactly one change and move the
+ * in-memory like counter by exactly one.
+ * Runs outside a test transaction so every call commits on its own connection.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:likes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,USER",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(ContentVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LikeServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ProjectsLikeRepository projectsLikeRepo;
+    @Autowired
+    private ProfileLikeRepository profileLikeRepo;
+    @Autowired
+    private UserJpa userRepo;
+    @Autowired
+    private ProjectsRepository projectRepo;
+    @Autowired
+    private ContentVersions contentVersions;
+
+    private LikeCounters likeCounters;
+    private LikeService likeService;
+    private Users liker;
+    private Users owner;
+    private Projects project;
+
+    @BeforeEach
+    void setUp() {
+        likeCounters = new LikeCounters(projectsLikeRepo, profileLikeRepo, contentVersions);
+        likeService = new LikeService(projectsLikeRepo, profileLikeRepo, userRepo, projectRepo,
+            mock(PostRepository.class), mock(NotificationQueue.class), mock(PostLikeCounter.class),
+            mock(TrendingService.class), new LikeFilter(mock(JdbcTemplate.class)), likeCounters);
+        liker = userRepo.save(user("liker"));
+        owner = userRepo.save(user("owner"));
+        Projects p = new Projects();
+        p.setTitle("project");
+        p.setUser(owner);
+        project = projectRepo.save(p);
+        // Serve counts from memory from here on
+        likeCounters.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectsLikeRepo.deleteAll();
+        profileLikeRepo.deleteAll();
+        projectRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void concurrentProjectLikesInsertOneRow() throws Exception {
+        assertEquals(1, countTrue(() -> likeService.likeProject(liker.getId(), project.getId())));
+        assertEquals(1, projectsLikeRepo.countByProjectId(project.getId()));
+        assertEquals(1, likeService.getProjectLikeCount(project.getId()));
+
+        assertEquals(1, countTrue(() -> likeService.unlikeProject(liker.getId(), project.getId())));
+        assertEquals(0, projectsLikeRepo.countByProjectId(project.getId()));
+        assertEquals(0, likeService.getProjectLikeCount(project.getId()));
+    }
+
+    @Test
+    void concurrentProfileLikesInsertOneRow() throws Exception {
+        assertEquals(1, countTrue(() -> likeService.likeProfile(liker.getId(), owner.getId())));
+        assertEquals(1, profileLikeRepo.countByLikedUserId(owner.getId()));
+        assertEquals(1, likeService.getProfileLikeCount(owner.getId()));
+
+        assertEquals(1, countTrue(() -> likeService.unlikeProfile(liker.getId(), owner.getId())));
+        assertEquals(0, profileLikeRepo.countByLikedUserId(owner.getId()));
+        assertEquals(0, likeService.getProfileLikeCount(owner.getId()));
+    }
+
+    // Releases THREADS calls at the same moment and counts how many returned true
+    private static int countTrue(Callable<Boolean> call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            int changed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    changed++;
+                }
+            }
+            return changed;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Users user(String name) {
+        return Users.builder().username(name).email(name + "@example.com").password("password").build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * NotificationQueue against a mocked JdbcTemplate that records each batch it is given.
+ */
+class NotificationQueueTest {
+
+    private final List<List<Object[]>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    // Counted down once the writer thread is blocked inside batchUpdate
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private volatile boolean blockWriter;
+
+    private JdbcTemplate jdbcTemplate;
+    private NotificationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(call -> {
+            if (blockWriter && Thread.currentThread().getName().equals("notification-writer")) {
+                writerBlocked.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            List<Object[]> args = call.getArgument(1);
+            batches.add(new ArrayList<>(args));
+            threads.add(Thread.currentThread().getName());
+            return new int[args.size()];
+        });
+        queue = new NotificationQueue(jdbcTemplate);
+        ReflectionTestUtils.setField(queue, "capacity", 1000);
+        ReflectionTestUtils.setField(queue, "batchSize", 50);
+        ReflectionTestUtils.setField(queue, "lingerMs", 20L);
+        ReflectionTestUtils.setField(queue, "shutdownTimeoutMs", 5000L);
+    }
+
+    @Test
+    void groupsQueuedNotificationsIntoBatches() {
+        queue.start();
+        for (int i = 0; i < 500; i++) {
+            queue.send((long) i + 1, "user" + i + " liked your post.", "LIKE");
+        }
+        queue.stop();
+
+        assertEquals(500, rowCount());
+        assertTrue(batches.size() < 500, "expected batching, got " + batches.size() + " inserts");
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 50));
+        assertEquals(500L, queue.stats().get("written"));
+    }
+
+    @Test
+    void callerInsertsWhenQueueIsFull() throws InterruptedException {
+        ReflectionTestUtils.setField(queue, "capacity", 2);
+        blockWriter = true;
+        queue.start();
+        queue.send(1L, "first", "FOLLOW");
+        // Wait until the writer has taken the first one and is blocked inside its insert
+        assertTrue(writerBlocked.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            queue.send(2L, "more", "FOLLOW");
+        }
+        assertEquals(3L, queue.stats().get("callerRuns"));
+        assertTrue(threads.stream().allMatch(name -> !name.equals("notification-writer")));
+
+        release.countDown();
+        queue.stop();
+        assertEquals(6, rowCount());
+    }
+
+    @Test
+    void stopWritesEverythingStillQueued() {
+        blockWriter = true;
+        queue.start();
+        for (int i = 0; i < 120; i++) {
+            queue.send(3L, "queued " + i, "FRIEND_REQUEST");
+        }
+        release.countDown();
+        queue.stop();
+
+        assertEquals(120, rowCount());
+        assertEquals(0, queue.stats().get("queued"));
+    }
+
+    private int rowCount() {
+        synchronized (batches) {
+            return batches.stream().mapToInt(List::size).sum();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.social_portfolio_db.demo.naveen.Jpa.PostRepository;
+
+/**
+ * PostLikeCounter.reconcile against a mocked JdbcTemplate holding one post whose stored
+ * like_count is 0 and whose post_likes rows number {@code rows}.
+ */
+class PostLikeCounterTest {
+
+    private static final String FIX_SQL = "UPDATE posts SET like_count = ? WHERE id = ? AND like_count = ?";
+
+    private final AtomicLong rows = new AtomicLong();
+    private JdbcTemplate jdbcTemplate;
+    private PostLikeCounter counter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenAnswer(call -> {
+            long after = call.getArgument(2, Long.class);
+            List<long[]> result = new ArrayList<>();
+            if (after < 1) {
+                result.add(new long[] {1L, 0L, rows.get()});
+            }
+            return result;
+        });
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(call -> new int[((List<?>) call.getArgument(1)).size()]);
+        counter = new PostLikeCounter(mock(PostRepository.class), jdbcTemplate);
+        ReflectionTestUtils.setField(counter, "reconcileBatchSize", 500);
+    }
+
+    @Test
+    void reconcileBetweenCommitAndDeltaLeavesThePostAlone() {
+        assertTrue(counter.change(1L, 1, () -> {
+            rows.incrementAndGet();
+            // The row is committed but the +1 is not pending yet
+            counter.reconcile();
+            return true;
+        }));
+        verify(jdbcTemplate, never()).batchUpdate(eq(FIX_SQL), anyList());
+    }
+
+    @Test
+    void reconcileRepairsDriftWhenNothingIsInFlight() {
+        rows.set(2);
+        counter.reconcile();
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(FIX_SQL), anyList());
+    }
+}
@@ -0,0 +1,98 @@
+package com.social_portfolio_db.demo.naveen.ServicesImp;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.social_portfolio_db.demo.naveen.Dtos.UserCard;
+import com.social_portfolio_db.demo.naveen.Jpa.FriendRequestRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.SkillRepository;
+import com.social_portfolio_db.demo.naveen.Jpa.UserJpa;
+
+/**
+ * A generated follow graph of {@code edges} edges between {@code users} users (followed ids
+ * skewed towards popular accounts), loaded into a SocialGraph over a mocked
+ * FriendRequestRepository and wired into a FriendSuggestionService. Users have the skills put
+ * in {@link #skills}, none by default.
+ */
+final class SuggestionFixture {
+
+    final int users;
+    final int edges;
+    final SocialGraph graph;
+    final FriendSuggestionService suggestions;
+    final Map<Long, List<String>> skills = new HashMap<>();
+    final long loadMillis;
+
+    private final long[] sources;
+    private final long[] targets;
+
+    SuggestionFixture(int users, int edges) {
+        this.users = users;
+        this.edges = edges;
+        Random random = new Random(42);
+        sources = new long[edges];
+        targets = new long[edges];
+        for (int i = 0; i < edges; i++) {
+            sources[i] = random.nextInt(users) + 1;
+            double skew = random.nextDouble();
+            targets[i] = (long) (skew * skew * users) + 1;
+        }
+
+        FriendRequestRepository friendRequestRepo = mock(FriendRequestRepository.class);
+        List<Object[]> fingerprint = new ArrayList<>();
+        fingerprint.add(new Object[] {0L, 0L, 0L});
+        when(friendRequestRepo.findAcceptedEdgeFingerprint()).thenReturn(fingerprint);
+        when(friendRequestRepo.findAcceptedEdgesAfter(anyLong(), any(Pageable.class))).thenAnswer(call -> {
+            int after = (int) (long) call.getArgument(0, Long.class);
+            int size = call.getArgument(1, Pageable.class).getPageSize();
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = after; i < Math.min(edges, after + size); i++) {
+                rows.add(new Object[] {(long) i + 1, sources[i], targets[i]});
+            }
+            return rows;
+        });
+
+        graph = new SocialGraph(friendRequestRepo);
+        ReflectionTestUtils.setField(graph, "loadBatchSize", 10_000);
+        ReflectionTestUtils.setField(graph, "compactThreshold", 10_000);
+        long started = System.nanoTime();
+        graph.load();
+        loadMillis = (System.nanoTime() - started) / 1_000_000;
+
+        SkillRepository skillRepo = mock(SkillRepository.class);
+        when(skillRepo.findSkillNamesByUserIds(anyCollection())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(0);
+            List<Object[]> rows = new ArrayList<>();
+            for (Long id : ids) {
+                for (String skill : skills.getOrDefault(id, List.of())) {
+                    rows.add(new Object[] {id, skill});
+                }
+            }
+            return rows;
+        });
+        UserJpa userRepo = mock(UserJpa.class);
+        when(userRepo.findCardsByIdIn(anyCollection())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(0);
+            return ids.stream().map(id -> new UserCard(id, "user" + id, null, null, null)).toList();
+        });
+
+        suggestions = new FriendSuggestionService(graph, skillRepo, userRepo);
+        ReflectionTestUtils.setField(suggestions, "maxResults", 50);
+        ReflectionTestUtils.setField(suggestions, "candidatePool", 200);
+        ReflectionTestUtils.setField(suggestions, "maxWalkEdges", 200_000);
+        ReflectionTestUtils.setField(suggestions, "skillWeight", 0.5);
+    }
+}
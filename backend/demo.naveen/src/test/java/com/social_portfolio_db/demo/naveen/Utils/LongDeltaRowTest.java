@@ -0,0 +1,59 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class LongDeltaRowTest {
+
+    @Test
+    void matchesASortedSetUnderRandomChanges() {
+        Random random = new Random(3);
+        TreeSet<Long> expected = new TreeSet<>();
+        long[] base = new long[2_000];
+        for (int i = 0; i < base.length; i++) {
+            base[i] = 10L * i;
+            expected.add(base[i]);
+        }
+        // Wrap a run in the middle of a larger array, as SocialGraph does with CSR rows
+        long[] padded = new long[base.length + 2];
+        System.arraycopy(base, 0, padded, 1, base.length);
+        padded[0] = -1;
+        padded[padded.length - 1] = Long.MAX_VALUE;
+        LongDeltaRow row = new LongDeltaRow(padded, 1, padded.length - 1);
+
+        for (int n = 0; n < 5_000; n++) {
+            long id = random.nextInt(25_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(id), row.add(id));
+            } else {
+                assertEquals(expected.remove(id), row.remove(id));
+            }
+            assertEquals(expected.contains(id), row.contains(id));
+            if (n % 500 == 0) {
+                assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), row.ids());
+            }
+            if (n % 1_700 == 0) {
+                row.fold();
+                assertEquals(0, row.deltaSize());
+            }
+        }
+        assertEquals(expected.size(), row.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), row.ids());
+    }
+
+    @Test
+    void mergedViewIsCachedUntilTheNextChange() {
+        LongDeltaRow row = new LongDeltaRow(new long[] {1, 3, 5}, 0, 3);
+        row.add(4);
+        long[] first = row.ids();
+        assertSame(first, row.ids());
+        row.remove(1);
+        assertArrayEquals(new long[] {3, 4, 5}, row.ids());
+    }
+}
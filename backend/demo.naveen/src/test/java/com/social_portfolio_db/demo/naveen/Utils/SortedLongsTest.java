@@ -0,0 +1,107 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class SortedLongsTest {
+
+    private final Random random = new Random(5);
+
+    @Test
+    void matchesANaiveIntersectionAcrossSizeRatios() {
+        // Similar sizes take the merge; from 16x apart on, either side first, the gallop
+        int[][] sizes = {{50, 60}, {300, 300}, {10, 160}, {10, 161}, {10, 5_000}, {5_000, 10}, {1, 20_000}, {700, 40_000}};
+        for (int[] size : sizes) {
+            for (int n = 0; n < 20; n++) {
+                check(randomIds(size[0], 3 * size[1]), randomIds(size[1], 3 * size[1]), Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    @Test
+    void emptyAndDisjointRanges() {
+        long[] some = {1, 4, 9, 16};
+        check(new long[0], some, 10);
+        check(some, new long[0], 10);
+        check(new long[0], new long[0], 10);
+        // Entirely before, entirely after, and interleaved without a common value
+        check(some, new long[] {20, 30, 40}, 10);
+        check(new long[] {-5, -3}, some, 10);
+        long[] evens = new long[2_000];
+        long[] odds = new long[2_000];
+        for (int i = 0; i < evens.length; i++) {
+            evens[i] = 2L * i;
+            odds[i] = 2L * i + 1;
+        }
+        check(evens, odds, 10);
+        check(Arrays.copyOf(evens, 20), odds, 10);
+        check(odds, Arrays.copyOf(evens, 20), 10);
+    }
+
+    @Test
+    void shortOutBufferHoldsTheSmallestValuesAndCountStaysFull() {
+        for (int[] size : new int[][] {{400, 500}, {20, 10_000}}) {
+            long[] a = randomIds(size[0], size[1]);
+            long[] b = randomIds(size[1], size[1]);
+            long[] expected = naive(a, b);
+            for (int length : new int[] {0, 1, expected.length / 2, expected.length - 1}) {
+                if (length < 0) {
+                    continue;
+                }
+                long[] out = new long[length];
+                assertEquals(expected.length, SortedLongs.intersect(a, 0, a.length, b, 0, b.length, out));
+                assertArrayEquals(Arrays.copyOf(expected, length), out);
+            }
+        }
+    }
+
+    // Runs the intersection on copies of a and b placed at non-zero offsets inside padded arrays
+    private void check(long[] a, long[] b, int outLength) {
+        long[] expected = naive(a, b);
+        int aFrom = 1 + random.nextInt(5);
+        int bFrom = 1 + random.nextInt(5);
+        long[] paddedA = pad(a, aFrom);
+        long[] paddedB = pad(b, bFrom);
+        long[] out = new long[Math.min(outLength, Math.min(a.length, b.length))];
+        int count = SortedLongs.intersect(paddedA, aFrom, aFrom + a.length, paddedB, bFrom, bFrom + b.length, out);
+        assertEquals(expected.length, count);
+        assertArrayEquals(Arrays.copyOf(expected, Math.min(count, out.length)), Arrays.copyOf(out, Math.min(count, out.length)));
+    }
+
+    // Values around the range that would match if the bounds were ignored
+    private static long[] pad(long[] ids, int from) {
+        long[] padded = new long[from + ids.length + 3];
+        Arrays.fill(padded, 0, from, Long.MIN_VALUE);
+        System.arraycopy(ids, 0, padded, from, ids.length);
+        Arrays.fill(padded, from + ids.length, padded.length, Long.MAX_VALUE);
+        return padded;
+    }
+
+    private static long[] naive(long[] a, long[] b) {
+        TreeSet<Long> common = new TreeSet<>();
+        for (long id : a) {
+            common.add(id);
+        }
+        TreeSet<Long> inB = new TreeSet<>();
+        for (long id : b) {
+            inB.add(id);
+        }
+        common.retainAll(inB);
+        return common.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // size distinct ascending ids drawn from [0, range)
+    private long[] randomIds(int size, int range) {
+        TreeSet<Long> ids = new TreeSet<>();
+        while (ids.size() < size) {
+            ids.add((long) random.nextInt(Math.max(range, size)));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
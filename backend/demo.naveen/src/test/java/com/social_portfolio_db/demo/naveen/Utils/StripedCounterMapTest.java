@@ -0,0 +1,65 @@
+package com.social_portfolio_db.demo.naveen.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class StripedCounterMapTest {
+
+    @Test
+    void drainRacingWithAddsLosesNothing() throws InterruptedException {
+        StripedCounterMap counters = new StripedCounterMap();
+        int threads = 8;
+        int addsPerThread = 200_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < addsPerThread; i++) {
+                        counters.add(i % 4, 1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        AtomicLong drained = new AtomicLong();
+        start.countDown();
+        while (done.getCount() > 0) {
+            counters.drain().values().forEach(drained::addAndGet);
+        }
+        counters.drain().values().forEach(drained::addAndGet);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals((long) threads * addsPerThread, drained.get());
+        assertTrue(counters.snapshot().isEmpty());
+    }
+
+    @Test
+    void replaceOnlyAppliesWhenExpectedMatches() {
+        StripedCounterMap counters = new StripedCounterMap();
+        counters.add(7, 3);
+        assertFalse(counters.replace(7, 2, 10));
+        assertEquals(3, counters.get(7));
+        assertTrue(counters.replace(7, 3, 10));
+        assertEquals(10, counters.get(7));
+        assertTrue(counters.replace(8, 0, 5));
+        assertEquals(5, counters.get(8));
+        assertTrue(counters.replace(8, 5, 0));
+        assertFalse(counters.snapshot().containsKey(8L));
+    }
+}
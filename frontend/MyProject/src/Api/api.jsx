@@ -38,4 +38,21 @@ export const applyVotingContest = (userId, email, imageUrl) =>
 export const voteForContestant = (voterId, applicationId) => api.post('/voting-contest/vote', null, { params: { voterId, applicationId } });
 export const getVotingTrend = () => api.get('/voting-contest/applications');
 
+// Like counts and liked-by-me flags for many posts or projects ('post' | 'project'),
+// as { [id]: { liked, count } }; ids are sent in chunks the server accepts
+export const getLikeSummaries = async (type, ids) => {
+    const summaries = {};
+    for (let i = 0; i < ids.length; i += 100) {
+        const res = await api.get(`/likes/${type}/batch`, { params: { ids: ids.slice(i, i + 100).join(',') } });
+        for (const s of res.data) {
+            summaries[s.id] = { liked: s.liked, count: s.likeCount };
+        }
+    }
+    return summaries;
+};
+
+// Followers/following come back a page at a time: { users, nextCursor, total }
+export const getFollowPage = (userId, list, after, size) =>
+    api.get(`/users/${userId}/${list}`, { params: { after, size } });
+
 export default api;
\ No newline at end of file
@@ -3,7 +3,9 @@ import { useAuth } from '../Api/AuthContext.jsx';
 import api from '../Api/api.jsx';
 import { useNavigate } from 'react-router-dom';
 
-const PostCard = ({ post, onDelete }) => {
+// likeSummary ({ liked, count }) comes from a list-level batch request; null means it is still
+// loading, and leaving it out makes the card fetch its own like state
+const PostCard = ({ post, onDelete, likeSummary }) => {
   const { user: currentUser } = useAuth();
   const navigate = useNavigate();
   const [liked, setLiked] = useState(false);
@@ -63,10 +65,13 @@ const PostCard = ({ post, onDelete }) => {
         console.error('Error fetching like status:', error);
       }
     };
-    if (post.id && currentUser) {
+    if (likeSummary) {
+      setLikeCount(likeSummary.count);
+      setLiked(likeSummary.liked);
+    } else if (likeSummary === undefined && post.id && currentUser) {
       fetchLikeStatus();
     }
-  }, [post.id, currentUser]);
+  }, [post.id, currentUser, likeSummary]);
 
   useEffect(() => {
     const fetchFriendRequestStatus = async () => {
@@ -1,7 +1,7 @@
 import { useState, useEffect, useRef, useContext } from 'react';
 import { useAuth } from '../Api/AuthContext.jsx';
 import { Link, useNavigate } from 'react-router-dom';
-import api from '../Api/api.jsx';
+import api, { getFollowPage } from '../Api/api.jsx';
 import SockJS from 'sockjs-client/dist/sockjs';
 import { CompatClient, Stomp } from '@stomp/stompjs';
 import React, { createContext } from 'react';
@@ -13,6 +13,11 @@ const SidebarOverlay = ({ openChatFromNavbar, onChatModalOpened }) => {
     const { showChat, setShowChat, selectedUser, setSelectedUser } = useContext(ChatModalContext);
     const [isOpen, setIsOpen] = useState(false);
     const [chatUsers, setChatUsers] = useState([]);
+    const [chatSearch, setChatSearch] = useState('');
+    const [hasMoreChatUsers, setHasMoreChatUsers] = useState(false);
+    // Next page cursor per list; null once a list is exhausted
+    const chatCursors = useRef({ followers: null, following: null });
+    const chatUsersLoading = useRef(false);
     const [messages, setMessages] = useState([]);
     const [chatLoading, setChatLoading] = useState(false);
     const [input, setInput] = useState('');
@@ -38,10 +43,46 @@ const SidebarOverlay = ({ openChatFromNavbar, onChatModalOpened }) => {
         };
     }, []);
 
+    // Adds users not already in the chat list (and not the current user)
+    const addChatUsers = (users) => {
+        setChatUsers(prev => {
+            const seen = new Set(prev.map(u => u.id));
+            const added = [];
+            for (const u of users) {
+                if (u.id !== user.id && !seen.has(u.id)) {
+                    added.push(u);
+                    seen.add(u.id);
+                }
+            }
+            // Always a new array, so a search that is still paging in re-runs on every page
+            return [...prev, ...added];
+        });
+    };
+
+    // Fetches the next page of followers and following (the first page when reset)
+    const loadChatUsers = async (reset = false) => {
+        if (chatUsersLoading.current) return;
+        chatUsersLoading.current = true;
+        try {
+            const lists = reset ? ['followers', 'following']
+                : ['followers', 'following'].filter(list => chatCursors.current[list] != null);
+            const pages = await Promise.all(lists.map(list =>
+                getFollowPage(user.id, list, reset ? undefined : chatCursors.current[list], 50)));
+            lists.forEach((list, i) => { chatCursors.current[list] = pages[i].data.nextCursor; });
+            addChatUsers(pages.flatMap(page => page.data.users));
+            setHasMoreChatUsers(chatCursors.current.followers != null || chatCursors.current.following != null);
+        } catch (err) {
+            setHasMoreChatUsers(false);
+        } finally {
+            chatUsersLoading.current = false;
+        }
+    };
+
     // Fetch chat users (friends/following/followers)
     useEffect(() => {
         const fetchChatUsers = async () => {
             if (!user || !user.id) return;
+            setChatUsers([]);
             // If admin, fetch all users
             if (user.roles && (user.roles.includes('ROLE_ADMIN') || user.roles.some?.(r => r === 'ROLE_ADMIN' || r.name === 'ROLE_ADMIN'))) {
                 try {
@@ -50,31 +91,34 @@ const SidebarOverlay = ({ openChatFromNavbar, onChatModalOpened }) => {
                 } catch (err) {
                     setChatUsers([]);
                 }
+                setHasMoreChatUsers(false);
                 return;
             }
-            // Regular user: fetch friends/followers/following
-            try {
-                const [followersRes, followingRes] = await Promise.all([
-                    api.get(`/users/${user.id}/followers`),
-                    api.get(`/users/${user.id}/following`)
-                ]);
-                const allUsers = [...followersRes.data, ...followingRes.data];
-                const uniqueUsers = [];
-                const seen = new Set();
-                for (const u of allUsers) {
-                    if (u.id !== user.id && !seen.has(u.id)) {
-                        uniqueUsers.push(u);
-                        seen.add(u.id);
-                    }
-                }
-                setChatUsers(uniqueUsers);
-            } catch (err) {
-                setChatUsers([]);
-            }
+            // Regular user: first page of followers and following; more on scroll or search
+            await loadChatUsers(true);
         };
         fetchChatUsers();
     }, [user]);
 
+    const chatSearchTerm = chatSearch.trim().toLowerCase();
+    const visibleChatUsers = chatSearchTerm
+        ? chatUsers.filter(u => [u.username, u.name, u.email].some(v => v?.toLowerCase().includes(chatSearchTerm)))
+        : chatUsers;
+
+    // While searching, keep paging in until something matches or both lists are exhausted
+    useEffect(() => {
+        if (chatSearchTerm && visibleChatUsers.length === 0 && hasMoreChatUsers) {
+            loadChatUsers();
+        }
+    }, [chatSearchTerm, chatUsers, hasMoreChatUsers]);
+
+    const handleChatListScroll = (e) => {
+        const el = e.currentTarget;
+        if (hasMoreChatUsers && el.scrollHeight - el.scrollTop - el.clientHeight < 100) {
+            loadChatUsers();
+        }
+    };
+
     // Fetch chat history when selectedUser changes
     useEffect(() => {
         const fetchHistory = async () => {
@@ -237,11 +281,22 @@ const SidebarOverlay = ({ openChatFromNavbar, onChatModalOpened }) => {
                 <div className="flex flex-1 min-h-0">
                   {/* User List */}
                   <div className="w-[30%] border-r overflow-y-auto min-w-[180px] h-full flex flex-col bg-[#f7fdf9]">
-                    <ul className="space-y-3 p-4 flex-1 overflow-y-auto">
-                      {chatUsers.length === 0 ? (
-                        <li className="text-gray-500 text-lg">No friends or followers to chat with.</li>
+                    <div className="p-4 pb-0">
+                      <input
+                        className="w-full border-2 border-[#32a86d] rounded-full px-4 py-2 focus:outline-none focus:ring-2 focus:ring-[#32a86d] bg-white"
+                        type="text"
+                        value={chatSearch}
+                        onChange={e => setChatSearch(e.target.value)}
+                        placeholder="Search people..."
+                      />
+                    </div>
+                    <ul className="space-y-3 p-4 flex-1 overflow-y-auto" onScroll={handleChatListScroll}>
+                      {visibleChatUsers.length === 0 ? (
+                        <li className="text-gray-500 text-lg">
+                          {hasMoreChatUsers ? 'Loading...' : chatSearchTerm ? 'No matches.' : 'No friends or followers to chat with.'}
+                        </li>
                       ) : (
-                        chatUsers.map(u => (
+                        visibleChatUsers.map(u => (
                           <li key={u.id}>
                             <button
                               className={`w-full text-left px-4 py-3 rounded-xl hover:bg-green-100 text-lg ${selectedUser && selectedUser.id === u.id ? 'bg-green-200 font-bold' : ''}`}
@@ -275,6 +330,11 @@ const SidebarOverlay = ({ openChatFromNavbar, onChatModalOpened }) => {
                           </li>
                         ))
                       )}
+                      {hasMoreChatUsers && visibleChatUsers.length > 0 && (
+                        <li>
+                          <button className="w-full text-center text-[#32a86d] hover:underline" onClick={() => loadChatUsers()}>Load more</button>
+                        </li>
+                      )}
                     </ul>
                   </div>
                   {/* Chat Window */}
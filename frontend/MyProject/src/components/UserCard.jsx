@@ -1,5 +1,5 @@
 import { useAuth } from '../Api/AuthContext.jsx';
-import api from '../Api/api.jsx';
+import api, { getFollowPage } from '../Api/api.jsx';
 import { useState, useEffect } from 'react';
 
 const UserCard = ({ user }) => {
@@ -20,12 +20,9 @@ const UserCard = ({ user }) => {
   useEffect(() => {
     const fetchFollowers = async () => {
       try {
-        const res = await api.get(`/users/${user.id}/followers`);
-        setFollowers(res.data);
-        setFollowersCount(res.data.length);
-        if (currentUser) {
-          setIsFollowing(res.data.some(f => f.id === currentUser.id));
-        }
+        const res = await getFollowPage(user.id, 'followers');
+        setFollowers(res.data.users);
+        setFollowersCount(res.data.total);
       } catch (err) {
         setFollowers([]);
         setFollowersCount(0);
@@ -33,8 +30,8 @@ const UserCard = ({ user }) => {
     };
     const fetchFollowing = async () => {
       try {
-        const res = await api.get(`/users/${user.id}/following`);
-        setFollowing(res.data);
+        const res = await getFollowPage(user.id, 'following');
+        setFollowing(res.data.users);
       } catch (err) {
         setFollowing([]);
       }
@@ -61,6 +58,7 @@ const UserCard = ({ user }) => {
         // 2. Card user -> current user
         const res2 = await api.get(`/users/${currentUser.id}/friend-request/status`, { params: { otherUserId: user.id } });
         const status1 = res1.data ? res1.data.status : null;
+        setIsFollowing(status1 === 'ACCEPTED');
         const status2 = res2.data ? res2.data.status : null;
         if (status1 === 'ACCEPTED' || status2 === 'ACCEPTED') {
           setFriendStatus('ACCEPTED');
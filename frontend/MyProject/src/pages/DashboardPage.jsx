@@ -2,13 +2,14 @@ import { useEffect, useState, useRef } from 'react';
 import { Link } from 'react-router-dom';
 import PostCard from '../components/PostCard';
 import api from '../Api/api.jsx';
-import { getVotingContestTop } from '../Api/api';
+import { getVotingContestTop, getLikeSummaries } from '../Api/api';
 import Footer from "../components/Footer.jsx";
 
 const DashboardPage = () => {
   // State to hold posts
   const [posts, setPosts] = useState([]);
   const [myPosts, setMyPosts] = useState([]);
+  const [postLikes, setPostLikes] = useState(null); // { [postId]: { liked, count } } once loaded
   const [loading, setLoading] = useState(true);
   const [user, setUser] = useState(null);
   const [showAllPosts, setShowAllPosts] = useState(true);
@@ -69,7 +70,7 @@ const DashboardPage = () => {
         setMyPosts(myPostsRes.data);
         // Fetch all posts
         const allPostsRes = await api.get('/posts/all');
-        setPosts(allPostsRes.data);
+        setPosts(allPostsRes.data.posts || []);
         // Fetch dashboard images
         await fetchDashboardImages();
       } catch (err) {
@@ -81,6 +82,15 @@ const DashboardPage = () => {
     fetchData();
   }, []);
 
+  // Like state for every listed post in one batched request instead of two per card
+  useEffect(() => {
+    const ids = [...new Set([...posts, ...myPosts].map(p => p.id))];
+    if (ids.length === 0) return;
+    getLikeSummaries('post', ids)
+      .then(setPostLikes)
+      .catch(() => setPostLikes({}));
+  }, [posts, myPosts]);
+
   const [topContestants, setTopContestants] = useState([]);
   const [votingEndedAt, setVotingEndedAt] = useState(null);
   const [showTopContestants, setShowTopContestants] = useState(false);
@@ -300,7 +310,7 @@ const DashboardPage = () => {
               </div>
             ) : (
               (showAllPosts ? sortedPosts : myPosts).map(post => (
-                <PostCard key={post.id} post={post} />
+                <PostCard key={post.id} post={post} likeSummary={postLikes ? postLikes[post.id] || { liked: false, count: 0 } : null} />
               ))
             )}
           </div>
@@ -1,11 +1,13 @@
 import { useState, useEffect } from "react";
-import api from '../Api/api.jsx';
+import api, { getFollowPage } from '../Api/api.jsx';
 import { useAuth } from '../Api/AuthContext.jsx';
 
 function ManageFriendsPage() {
     const { user } = useAuth();
 
     const [follower, setFollower] = useState([]);
+    const [followerCursor, setFollowerCursor] = useState(null);
+    const [followerTotal, setFollowerTotal] = useState(0);
     const [following,setFollowing] = useState([]);
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState(null);
@@ -29,6 +31,7 @@ function ManageFriendsPage() {
             const response = await api.delete(`/users/${followerId}/remove-follower`);
             if (response.status === 200) {
                 setFollower(follower.filter(friend => friend.id !== followerId));
+                setFollowerTotal(total => Math.max(total - 1, 0));
             }
         } catch (error) {
             setError(`Error removing follower: ${error.response?.data || error.message}`);
@@ -42,8 +45,10 @@ function ManageFriendsPage() {
                 setLoading(true);
                 setError(null);
                 try {
-                    const response = await api.get(`/users/${user.id}/followers`);
-                    setFollower(response.data);
+                    const response = await getFollowPage(user.id, 'followers');
+                    setFollower(response.data.users);
+                    setFollowerCursor(response.data.nextCursor);
+                    setFollowerTotal(response.data.total);
                 } catch (error) {
                     console.error("Error fetching followers:", error);
                     setError(`Error fetching followers: ${error.message}`);
@@ -75,6 +80,16 @@ function ManageFriendsPage() {
         showFollowing();
     }, [user]);
 
+    async function loadMoreFollowers() {
+        try {
+            const response = await getFollowPage(user.id, 'followers', followerCursor);
+            setFollower([...follower, ...response.data.users]);
+            setFollowerCursor(response.data.nextCursor);
+        } catch (error) {
+            setError(`Error fetching followers: ${error.message}`);
+        }
+    }
+
     async function cancelFriendRequest(friendId) {
         try {
             const response = await api.delete(`/users/${friendId}/cancel-friend-request`);
@@ -112,14 +127,13 @@ function ManageFriendsPage() {
             <div className="grid grid-cols-1 md:grid-cols-2 gap-6">
                 {/* Followers Section */}
                 <div className="bg-white p-6 rounded-lg shadow-md">
-                    <h2 className="text-xl font-semibold mb-4">Followers ({follower.length})</h2>
+                    <h2 className="text-xl font-semibold mb-4">Followers ({followerTotal})</h2>
                     {follower && follower.length > 0 ? (
                         <ul className="space-y-2">
                             {follower.map((friend, index) => (
                                 <li key={friend.id || index} className="flex items-center p-3 bg-gray-50 rounded-lg">
                                     <div className="flex-1">
                                         <div className="font-medium">{friend.username || friend.name}</div>
-                                        <div className="text-sm text-gray-600">{friend.email}</div>
                                     </div>
                                     <button className="bg-red-300 text-white p-2 border-1 ml-4" onClick={() => removeFollower(friend.id)}>Remove</button>
                                 </li>
@@ -128,6 +142,9 @@ function ManageFriendsPage() {
                     ) : (
                         <p className="text-gray-500">No followers found.</p>
                     )}
+                    {followerCursor != null && (
+                        <button className="mt-3 text-[#32a86d] hover:underline" onClick={loadMoreFollowers}>Load more</button>
+                    )}
                 </div>
 
                 {/* Following Section */}
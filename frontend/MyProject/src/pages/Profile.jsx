@@ -1,6 +1,6 @@
 import React, { useEffect, useState, useRef, useContext } from 'react';
 import { useParams, useNavigate, Link } from 'react-router-dom';
-import api from '../Api/api.jsx';
+import api, { getLikeSummaries } from '../Api/api.jsx';
 import { useAuth } from '../Api/AuthContext.jsx';
 import PostCard from '../components/PostCard';
 import { useState as useReactState } from 'react';
@@ -19,6 +19,7 @@ const Profile = () => {
   const [showSkillInput, setShowSkillInput] = useState(false);
   const [newSkill, setNewSkill] = useState('');
   const [userPosts, setUserPosts] = useState([]);
+  const [postLikes, setPostLikes] = useState(null); // { [postId]: { liked, count } } once loaded
   const [loadingPosts, setLoadingPosts] = useState(false);
   const fileInputRef = useRef(null);
   const resumeInputRef = useRef(null);
@@ -285,6 +286,13 @@ const Profile = () => {
         response = await api.get(`/posts/user/${userId}`);
       }
       setUserPosts(response.data);
+      setPostLikes(null);
+      const ids = response.data.map(post => post.id);
+      if (ids.length > 0) {
+        getLikeSummaries('post', ids)
+          .then(setPostLikes)
+          .catch(() => setPostLikes({}));
+      }
     } catch (error) {
       setUserPosts([]);
     } finally {
@@ -306,17 +314,17 @@ const Profile = () => {
             if (res.data.email) {
               const res2 = await api.get(`/search?name=${encodeURIComponent(res.data.email)}`);
               console.log('Search by email result:', res2.data);
-              searchResult = res2.data;
-              realUser = Array.isArray(res2.data)
-                ? res2.data.find(u => u.email === res.data.email)
+              searchResult = res2.data.users;
+              realUser = Array.isArray(searchResult)
+                ? searchResult.find(u => u.email === res.data.email)
                 : null;
             }
             if (!realUser && res.data.username) {
               const res3 = await api.get(`/search?name=${encodeURIComponent(res.data.username)}`);
               console.log('Search by username result:', res3.data);
-              searchResult = res3.data;
-              realUser = Array.isArray(res3.data)
-                ? res2.data.find(u => u.username === res.data.username)
+              searchResult = res3.data.users;
+              realUser = Array.isArray(searchResult)
+                ? searchResult.find(u => u.username === res.data.username)
                 : null;
             }
             if (!realUser && Array.isArray(searchResult) && searchResult.length > 0) {
@@ -375,19 +383,11 @@ const Profile = () => {
 
   useEffect(() => {
     if (user && user.projects && Array.isArray(user.projects)) {
-      user.projects.forEach(async (project) => {
-        try {
-          const countRes = await api.get(`/projects/${project.id}/likes`);
-          let liked = false;
-          if (currentUser) {
-            const statusRes = await api.get(`/projects/${project.id}/like-status`, { headers: { Authorization: localStorage.getItem('token') } });
-            liked = statusRes.data.liked;
-          }
-          setProjectLikes(prev => ({ ...prev, [project.id]: { liked, count: countRes.data.likeCount } }));
-        } catch (err) {
-          setProjectLikes(prev => ({ ...prev, [project.id]: { liked: false, count: 0 } }));
-        }
-      });
+      const ids = user.projects.map(project => project.id);
+      if (ids.length === 0) return;
+      getLikeSummaries('project', ids)
+        .then(setProjectLikes)
+        .catch(() => setProjectLikes({}));
     }
   }, [user && user.projects, currentUser]);
 
@@ -800,7 +800,7 @@ const Profile = () => {
           ) : userPosts && userPosts.length > 0 ? (
             <div className="grid grid-cols-1 gap-4">
               {userPosts.map((post) => (
-                <PostCard key={post.id} post={post} onDelete={(deletedId) => {
+                <PostCard key={post.id} post={post} likeSummary={postLikes ? postLikes[post.id] || { liked: false, count: 0 } : null} onDelete={(deletedId) => {
                   fetchUserPosts(user.id);
                 }} />
               ))}
@@ -32,7 +32,7 @@ const SearchUserPage = () => {
       setError('');
       try {
         const res = await api.get(`/search?name=${encodeURIComponent(query)}`);
-        setResults(res.data);
+        setResults(res.data.users || []);
       } catch (err) {
         setError('Error searching users.');
         setResults([]);
@@ -70,7 +70,7 @@ const SearchUserPage = () => {
     setError('');
     try {
       const res = await api.get(`/search?name=${encodeURIComponent(query)}`);
-      setResults(res.data);
+      setResults(res.data.users || []);
       setShowResults(true);
     } catch (err) {
       setError('Error searching users.');